@@ -0,0 +1,219 @@
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+// generates a synthetic corpus of schemas with the structure of a NIEM release: a structures schema and
+// namespaces whose complex types extend structures:ObjectType or another type of their namespace, simple
+// types with enumerations and complex types with simple content for the codes, and an element for each
+// type referred to by the complex types of the namespace or of the core namespace with various multiplicities
+//
+// the corpus only depends on the number of types and of namespaces and on the seed
+public class CorpusGenerator {
+
+	public static final String STRUCTURES_URI = "http://release.niem.gov/niem/structures/3.0/";
+	public static final String XS_URI = "http://www.w3.org/2001/XMLSchema";
+
+	private Random random;
+	private int namespaces;
+	private int typesPerNamespace;
+
+	public CorpusGenerator(int types, int namespaces2, long seed)
+	{
+		namespaces = Math.max(1, namespaces2);
+		typesPerNamespace = Math.max(1, types / namespaces);
+		random = new Random(seed);
+	}
+
+	// default number of namespaces for a number of types, NIEM has about a hundred namespaces for ten
+	// thousand types
+	public static int namespaces(int types)
+	{
+		return Math.max(2, types / 500);
+	}
+
+	public static String prefix(int ns)
+	{
+		return "b" + ns;
+	}
+
+	public static String namespaceURI(int ns)
+	{
+		return "http://example.org/niem-bench/" + prefix(ns) + "/1.0/";
+	}
+
+	// write the schemas under dir/niem like in a NIEM release
+	public void generate(File dir) throws IOException
+	{
+		writeStructures(new File(dir, "niem/structures/3.0/structures.xsd"));
+		for (int ns = 0; ns < namespaces; ns++)
+			writeNamespace(ns, new File(dir, "niem/" + prefix(ns) + "/1.0/" + prefix(ns) + ".xsd"));
+	}
+
+	private void writeStructures(File file) throws IOException
+	{
+		Writer w = open(file);
+		try {
+			w.write("<xs:schema targetNamespace=\"" + STRUCTURES_URI + "\" xmlns:xs=\"" + XS_URI
+					+ "\" xmlns:structures=\"" + STRUCTURES_URI + "\">\n");
+			w.write("  <xs:annotation><xs:documentation>Structures</xs:documentation></xs:annotation>\n");
+			w.write("  <xs:complexType name=\"ObjectType\" abstract=\"true\"><xs:sequence>"
+					+ "<xs:element ref=\"structures:ObjectAugmentationPoint\" minOccurs=\"0\" maxOccurs=\"unbounded\"/>"
+					+ "</xs:sequence></xs:complexType>\n");
+			w.write("  <xs:element name=\"ObjectAugmentationPoint\" abstract=\"true\"/>\n");
+			w.write("</xs:schema>\n");
+		} finally {
+			w.close();
+		}
+	}
+
+	// a namespace refers to itself, to the core namespace b0 and to structures; out of five types, three
+	// are objects, one is a code simple type with its enumerations and one the complex type with simple
+	// content of the code elements
+	private void writeNamespace(int ns, File file) throws IOException
+	{
+		String p = prefix(ns);
+		Writer w = open(file);
+		try {
+			w.write("<xs:schema targetNamespace=\"" + namespaceURI(ns) + "\" xmlns:xs=\"" + XS_URI
+					+ "\" xmlns:structures=\"" + STRUCTURES_URI + "\" xmlns:" + p + "=\"" + namespaceURI(ns) + "\"");
+			if (ns != 0)
+				w.write(" xmlns:" + prefix(0) + "=\"" + namespaceURI(0) + "\"");
+			w.write(">\n");
+			w.write("  <xs:annotation><xs:documentation>Namespace " + p + "</xs:documentation></xs:annotation>\n");
+
+			for (int type = 0; type < typesPerNamespace; type++)
+				switch (type % 5) {
+				case 3:
+					writeCodeSimpleType(w, type);
+					break;
+				case 4:
+					writeCodeType(w, p, type);
+					break;
+				default:
+					writeObject(w, ns, type);
+					break;
+				}
+			w.write("  <xs:element name=\"" + p + "AugmentationPoint\" abstract=\"true\"/>\n");
+			w.write("</xs:schema>\n");
+		} finally {
+			w.close();
+		}
+	}
+
+	// complex type extending structures:ObjectType or a previous type, with references to elements of
+	// the namespace or of the core namespace, and its element
+	private void writeObject(Writer w, int ns, int type) throws IOException
+	{
+		String p = prefix(ns);
+		String base = "structures:ObjectType";
+		if (type > 0 && random.nextInt(3) != 0)
+			base = p + ":" + typeName(object(random.nextInt(type)));
+		w.write("  <xs:complexType name=\"" + typeName(type) + "\">");
+		w.write("<xs:annotation><xs:documentation>A data type for object " + type + " of " + p
+				+ ".</xs:documentation></xs:annotation>");
+		w.write("<xs:complexContent><xs:extension base=\"" + base + "\"><xs:sequence>");
+		int refs = 3 + random.nextInt(6);
+		Set<String> refered = new HashSet<String>();
+		for (int i = 0; i < refs; i++) {
+			int refNs = (ns != 0 && random.nextInt(4) == 0) ? 0 : ns;
+			int element = random.nextInt(typesPerNamespace);
+			if (element % 5 == 3)
+				element--;
+			// an element is referred to once by a type
+			String ref = prefix(refNs) + ":" + elementName(element);
+			if (!refered.add(ref))
+				continue;
+			w.write("<xs:element ref=\"" + ref + "\"");
+			switch (random.nextInt(4)) {
+			case 0:
+				w.write(" minOccurs=\"0\"");
+				break;
+			case 1:
+				w.write(" minOccurs=\"0\" maxOccurs=\"unbounded\"");
+				break;
+			case 2:
+				w.write(" maxOccurs=\"" + (2 + random.nextInt(3)) + "\"");
+				break;
+			}
+			w.write("/>");
+		}
+		w.write("</xs:sequence></xs:extension></xs:complexContent></xs:complexType>\n");
+		writeElement(w, p, type);
+	}
+
+	// simple type with enumerations
+	private void writeCodeSimpleType(Writer w, int type) throws IOException
+	{
+		w.write("  <xs:simpleType name=\"" + typeName(type) + "\">");
+		w.write("<xs:annotation><xs:documentation>A data type for code " + type + ".</xs:documentation></xs:annotation>");
+		w.write("<xs:restriction base=\"xs:token\">");
+		int values = 2 + random.nextInt(30);
+		for (int i = 0; i < values; i++)
+			w.write("<xs:enumeration value=\"V" + i + "\"><xs:annotation><xs:documentation>Value " + i
+					+ "</xs:documentation></xs:annotation></xs:enumeration>");
+		w.write("</xs:restriction></xs:simpleType>\n");
+	}
+
+	// complex type with simple content of the previous code simple type
+	private void writeCodeType(Writer w, String p, int type) throws IOException
+	{
+		w.write("  <xs:complexType name=\"" + typeName(type) + "\"><xs:simpleContent><xs:extension base=\"" + p + ":"
+				+ typeName(type - 1) + "\"/></xs:simpleContent></xs:complexType>\n");
+		writeElement(w, p, type);
+	}
+
+	// element of a type, the code simple types have no element
+	private void writeElement(Writer w, String p, int type) throws IOException
+	{
+		w.write("  <xs:element name=\"" + elementName(type) + "\" type=\"" + p + ":" + typeName(type) + "\">");
+		w.write("<xs:annotation><xs:documentation>Element " + type + " of " + p
+				+ ".</xs:documentation></xs:annotation></xs:element>\n");
+	}
+
+	private static String typeName(int type)
+	{
+		switch (type % 5) {
+		case 3:
+			return "Code" + type + "SimpleType";
+		case 4:
+			return "Code" + type + "Type";
+		default:
+			return "Object" + type + "Type";
+		}
+	}
+
+	// return the object type at or before a type
+	private static int object(int type)
+	{
+		return (type % 5 < 3) ? type : type - type % 5 + 2;
+	}
+
+	private static String elementName(int type)
+	{
+		return "Element" + type;
+	}
+
+	private static Writer open(File file) throws IOException
+	{
+		file.getParentFile().mkdirs();
+		return new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+	}
+
+	// CorpusGenerator directory types [namespaces [seed]]
+	public static void main(String[] args) throws IOException
+	{
+		if (args.length < 2) {
+			System.err.println("usage: CorpusGenerator directory types [namespaces [seed]]");
+			System.exit(1);
+		}
+		int types = Integer.parseInt(args[1]);
+		int namespaces = (args.length > 2) ? Integer.parseInt(args[2]) : namespaces(types);
+		long seed = (args.length > 3) ? Long.parseLong(args[3]) : 0;
+		new CorpusGenerator(types, namespaces, seed).generate(new File(args[0]));
+	}
+}
@@ -0,0 +1,167 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// measures each pass of the schema import against the headless model of niemtools-cmd, on a corpus made
+// by CorpusGenerator
+//
+// an import changes the model, so each measure is a single import into a new model, prepared by the
+// previous passes before the measure
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g", "-Djava.awt.headless=true" })
+public class ImportBenchmark {
+
+	@Param({ "1000", "10000", "100000" })
+	public int types;
+
+	private File corpus;
+	private File empty;
+	private List<XmlSchema> schemas;
+
+	// generate and parse the corpus once
+	@Setup(Level.Trial)
+	public void generate() throws Exception
+	{
+		corpus = Files.createTempDirectory("niemtools-bench").toFile();
+		new CorpusGenerator(types, CorpusGenerator.namespaces(types), 0).generate(corpus);
+		empty = new File(corpus, "empty");
+		empty.mkdir();
+		schemas = parse(corpus);
+	}
+
+	@TearDown(Level.Trial)
+	public void delete() throws IOException
+	{
+		Files.walkFileTree(corpus.toPath(), new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+				Files.delete(file);
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+				Files.delete(dir);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	// each pass needs a new model with the previous passes done
+	@State(Scope.Benchmark)
+	public static class TypesState {
+		@Setup(Level.Iteration)
+		public void prepare(ImportBenchmark benchmark) throws IOException
+		{
+			benchmark.newModel();
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class ElementsState {
+		@Setup(Level.Iteration)
+		public void prepare(ImportBenchmark benchmark) throws IOException
+		{
+			benchmark.newModel();
+			for (XmlSchema schema : benchmark.schemas)
+				NiemTools.importTypes(schema);
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class ElementsInTypesState {
+		@Setup(Level.Iteration)
+		public void prepare(ImportBenchmark benchmark) throws IOException
+		{
+			benchmark.newModel();
+			for (XmlSchema schema : benchmark.schemas)
+				NiemTools.importTypes(schema);
+			for (XmlSchema schema : benchmark.schemas)
+				NiemTools.importElements(schema);
+		}
+	}
+
+	@Benchmark
+	public List<XmlSchema> parseSchemas() throws Exception
+	{
+		return parse(corpus);
+	}
+
+	@Benchmark
+	public void importTypes(TypesState state)
+	{
+		for (XmlSchema schema : schemas)
+			NiemTools.importTypes(schema);
+	}
+
+	@Benchmark
+	public void importElements(ElementsState state)
+	{
+		for (XmlSchema schema : schemas)
+			NiemTools.importElements(schema);
+	}
+
+	@Benchmark
+	public void importElementsInTypes(ElementsInTypesState state)
+	{
+		for (XmlSchema schema : schemas)
+			NiemTools.importElementsInTypes(schema);
+	}
+
+	// new headless model with the NIEM packages and the XML schema types, importing an empty directory
+	private void newModel() throws IOException
+	{
+		NiemTools.clearCache();
+		NiemTools.createNIEM(new UmlPackage());
+		NiemTools.importSchemaDir(empty.getPath(), false, "");
+	}
+
+	// parse the schemas of the corpus in the order of importSchemaDir
+	private static List<XmlSchema> parse(File dir) throws Exception
+	{
+		final String importPath = dir.getPath();
+		final List<XmlSchema> schemas = new ArrayList<XmlSchema>();
+		final List<Exception> errors = new ArrayList<Exception>();
+		Files.walkFileTree(dir.toPath(), new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+				String filename = file.toString();
+				if (filename.endsWith(".xsd"))
+					try {
+						schemas.add(NiemTools.parseSchema(filename, filename.substring(importPath.length()).replace('\\', '/')));
+					} catch (Exception e) {
+						errors.add(e);
+					}
+				return FileVisitResult.CONTINUE;
+			}
+		});
+		if (!errors.isEmpty())
+			throw errors.get(0);
+		return schemas;
+	}
+}
@@ -1,3 +1,4 @@
+import java.awt.GraphicsEnvironment;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.FileWriter;
@@ -10,13 +11,16 @@ import javax.swing.UIManager;
 import javax.swing.filechooser.FileNameExtensionFilter;
 
 // the program is called with the socket port number in argument
+// without display (replay of a recording, see UmlComReplay) the directories
+// and files are not asked, they are given by niemtools.properties
 
 class Main
 {
 	public static void main(String argv[])
 	{
 
-		JFrame frame = new JFrame();
+		boolean headless = GraphicsEnvironment.isHeadless();
+		JFrame frame = (headless) ? null : new JFrame();
 		
 		try
 		{
@@ -45,9 +49,6 @@ class Main
 				Boolean genHtml = true;
 				UmlItem target = UmlCom.targetItem();
 
-				UmlCom.message("Memorize references ...");
-				target.memo_ref();
-
 				// create PIM and PSM
 				UmlPackage root = UmlBasePackage.getProject();
 				//NiemTools.createPIM(root);
@@ -66,6 +67,30 @@ class Main
 				}
 				// get local locations
 				String htmlDir = properties.getProperty("htmlDir", homeDir);
+
+				// measure the exchanges with BOUML, reported next to the HTML
+				if (Boolean.parseBoolean(properties.getProperty("protocolStats", "false")))
+					UmlCom.set_stats(htmlDir + "/niemtools-protocol.json");
+
+				// size the table of the items for a NIEM release rather than
+				// growing it, weak mode allows to garbage the unloaded items
+				UmlBaseItem.set_identity_map(Integer.parseInt(properties.getProperty("expectedItems", "0")),
+						Boolean.parseBoolean(properties.getProperty("weakItems", "false")));
+
+				// the DOM parsing of the schemas is slower, kept to verify the StAX one
+				NiemTools.setDomSchemaParser(Boolean.parseBoolean(properties.getProperty("domSchemaParser", "false")));
+
+				// the reference model index is reloaded from this file rather than read from BOUML
+				NiemTools.setReferenceSnapshot(properties.getProperty("referenceSnapshot", htmlDir + "/niemtools-reference.snapshot"));
+
+				// indexed reference mode: the NIEM types and elements are kept in this file, only the subset is in BOUML
+				NiemTools.setReferenceIndex(properties.getProperty("referenceIndex", ""));
+
+				UmlCom.set_phase("memorize references");
+				UmlCom.message("Memorize references ...");
+				target.memo_ref();
+				UmlCom.set_phase("");
+
 				root.set_PropertyValue("html dir", htmlDir);
 				String xsdDir = properties.getProperty("xsdDir");
 				String niemDir = properties.getProperty("niemDir", homeDir);
@@ -135,32 +160,46 @@ class Main
 					// in java it is very complicated to select
 					// a directory through a dialog, and the dialog
 					// is very slow and ugly
-					fc = new JFileChooser(niemDir);
-					fc.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
-					fc.setDialogTitle("Directory of the schema to be imported");
-					if (fc.showOpenDialog(frame) != JFileChooser.APPROVE_OPTION)
-						return;
-					String directory = fc.getSelectedFile().getAbsolutePath();
+					String directory = niemDir;
+					if (!headless)
+					{
+						fc = new JFileChooser(niemDir);
+						fc.setFileSelectionMode(JFileChooser.FILES_AND_DIRECTORIES);
+						fc.setFileFilter(new FileNameExtensionFilter("ZIP archive", "zip"));
+						fc.setDialogTitle("Directory or ZIP archive of the schema to be imported");
+						if (fc.showOpenDialog(frame) != JFileChooser.APPROVE_OPTION)
+							return;
+						directory = fc.getSelectedFile().getAbsolutePath();
+					}
 					properties.setProperty("niemDir", directory);
 					//NiemTools.deletePIM(root);
 					//UmlCom.trace("Saving project");
 					//UmlBasePackage.saveProject();
 					//UmlBasePackage.loadProject("");
 					NiemTools.createNIEM(root);
+					UmlCom.set_pipelined(true);
 					NiemTools.importSchemaDir(directory,false, externalSchemas);
+					UmlCom.set_pipelined(false);
 					break;
 
 				case "import":
 					UmlCom.trace("Deleting NIEM Mapping");
+					UmlCom.set_pipelined(true);
 					NiemTools.deleteMapping();
 					UmlCom.trace("Importing NIEM Mapping");
-					JFileChooser fc2 = new JFileChooser(htmlDir);
-					fc2.setFileFilter(new FileNameExtensionFilter("CSV file","csv"));
-					fc2.setDialogTitle("NIEM Mapping CSV file");
-					if (fc2.showOpenDialog(new JFrame()) != JFileChooser.APPROVE_OPTION)
-						return;
-					String filename = fc2.getSelectedFile().getAbsolutePath();
+					String filename = properties.getProperty("mappingFile", htmlDir + "/niem-mapping.csv");
+					if (!headless)
+					{
+						JFileChooser fc2 = new JFileChooser(htmlDir);
+						fc2.setFileFilter(new FileNameExtensionFilter("CSV file","csv"));
+						fc2.setDialogTitle("NIEM Mapping CSV file");
+						if (fc2.showOpenDialog(new JFrame()) != JFileChooser.APPROVE_OPTION)
+							return;
+						filename = fc2.getSelectedFile().getAbsolutePath();
+					}
+					properties.setProperty("mappingFile", filename);
 					NiemTools.importCsv(filename, externalSchemas);
+					UmlCom.set_pipelined(false);
 					break;
 
 				case "sort":
@@ -180,6 +219,7 @@ class Main
 					if (genHtml)
 					{
 						UmlCom.trace("Generating HTML documentation");
+						UmlCom.set_phase("HTML documentation");
 						//	target.set_dir(argv.length - 1, argv);
 						String[] params = {htmlDir};
 						target.set_dir(1, params);
@@ -209,12 +249,16 @@ class Main
 					UmlCom.message("Generating NIEM Wantlist ...");
 					UmlCom.trace("Generating NIEM Wantlist");
 					NiemTools.createNIEM(root);
+					UmlCom.set_pipelined(true);
 					NiemTools.createSubsetAndExtension(IEPDURI);
+					UmlCom.set_pipelined(false);
 					NiemTools.exportWantlist(htmlDir, "wantlist.xml", externalSchemas);
 
 					// Generate extension schema
 					UmlCom.message("Generating extension schema ...");
 					UmlCom.trace("Generating extension schema");
+					if (xsdDir == null && headless)
+						xsdDir = htmlDir;
 					if (xsdDir == null)
 					{
 						fc = new JFileChooser(htmlDir);
@@ -70,7 +70,7 @@ abstract class UmlBaseActivity extends UmlItem {
    *  return the pre condition in C++
    */
   public String cppPreCondition() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _cpp_pre_condition;
   }
 
@@ -80,6 +80,7 @@ abstract class UmlBaseActivity extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppPreCondition(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppEntryBehaviorCmd, v);
     UmlCom.check();
   
@@ -90,7 +91,7 @@ abstract class UmlBaseActivity extends UmlItem {
    *  return the post condition in C++
    */
   public String cppPostCondition() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _cpp_post_condition;
   }
 
@@ -100,6 +101,7 @@ abstract class UmlBaseActivity extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppPostCondition(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppExitBehaviorCmd, v);
     UmlCom.check();
   
@@ -110,7 +112,7 @@ abstract class UmlBaseActivity extends UmlItem {
    *  return the pre condition in Java
    */
   public String javaPreCondition() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _java_pre_condition;
   }
 
@@ -120,6 +122,7 @@ abstract class UmlBaseActivity extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaPreCondition(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaEntryBehaviorCmd, v);
     UmlCom.check();
   
@@ -130,7 +133,7 @@ abstract class UmlBaseActivity extends UmlItem {
    *  return the post condition in Java
    */
   public String javaPostCondition() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _java_post_condition;
   }
 
@@ -140,6 +143,7 @@ abstract class UmlBaseActivity extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaPostCondition(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaExitBehaviorCmd, v);
     UmlCom.check();
   
@@ -51,7 +51,7 @@ abstract class UmlBaseActivityAction extends UmlActivityNode {
    *  return the pre condition in C++
    */
   public String cppPreCondition() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _cpp_pre_condition;
   }
 
@@ -61,6 +61,7 @@ abstract class UmlBaseActivityAction extends UmlActivityNode {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppPreCondition(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppEntryBehaviorCmd, v);
     UmlCom.check();
   
@@ -71,7 +72,7 @@ abstract class UmlBaseActivityAction extends UmlActivityNode {
    *  return the post condition in C++
    */
   public String cppPostCondition() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _cpp_post_condition;
   }
 
@@ -81,6 +82,7 @@ abstract class UmlBaseActivityAction extends UmlActivityNode {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppPostCondition(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppExitBehaviorCmd, v);
     UmlCom.check();
   
@@ -91,7 +93,7 @@ abstract class UmlBaseActivityAction extends UmlActivityNode {
    *  return the pre condition in Java
    */
   public String javaPreCondition() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _java_pre_condition;
   }
 
@@ -101,6 +103,7 @@ abstract class UmlBaseActivityAction extends UmlActivityNode {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaPreCondition(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaEntryBehaviorCmd, v);
     UmlCom.check();
   
@@ -111,7 +114,7 @@ abstract class UmlBaseActivityAction extends UmlActivityNode {
    *  return the post condition in Java
    */
   public String javaPostCondition() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _java_post_condition;
   }
 
@@ -121,6 +124,7 @@ abstract class UmlBaseActivityAction extends UmlActivityNode {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaPostCondition(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaExitBehaviorCmd, v);
     UmlCom.check();
   
@@ -162,7 +162,7 @@ abstract class UmlBaseValueSpecificationAction extends UmlActivityAction {
    *  return the value in C++
    */
   public String cppValue() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _cpp_value;
   }
 
@@ -172,6 +172,7 @@ abstract class UmlBaseValueSpecificationAction extends UmlActivityAction {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppValue(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppActivityCmd, v);
     UmlCom.check();
   
@@ -182,7 +183,7 @@ abstract class UmlBaseValueSpecificationAction extends UmlActivityAction {
    *  return the value in Java
    */
   public String javaValue() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _java_value;
   }
 
@@ -192,6 +193,7 @@ abstract class UmlBaseValueSpecificationAction extends UmlActivityAction {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaValue(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaActivityCmd, v);
     UmlCom.check();
   
@@ -286,7 +288,7 @@ abstract class UmlBaseOpaqueAction extends UmlActivityAction {
    *  return the behavior in C++
    */
   public String cppBehavior() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _cpp_behavior;
   }
 
@@ -296,6 +298,7 @@ abstract class UmlBaseOpaqueAction extends UmlActivityAction {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppBehavior(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppActivityCmd, v);
     UmlCom.check();
   
@@ -306,7 +309,7 @@ abstract class UmlBaseOpaqueAction extends UmlActivityAction {
    *  return the behavior in Java
    */
   public String javaBehavior() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _java_behavior;
   }
 
@@ -316,6 +319,7 @@ abstract class UmlBaseOpaqueAction extends UmlActivityAction {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaBehavior(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaActivityCmd, v);
     UmlCom.check();
   
@@ -450,7 +454,7 @@ abstract class UmlBaseAcceptEventAction extends UmlActivityAction {
    *  return the trigger in C++
    */
   public String cppTrigger() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _cpp_trigger;
   }
 
@@ -460,6 +464,7 @@ abstract class UmlBaseAcceptEventAction extends UmlActivityAction {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppTrigger(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppTriggerCmd, v);
     UmlCom.check();
   
@@ -470,7 +475,7 @@ abstract class UmlBaseAcceptEventAction extends UmlActivityAction {
    *  return the trigger in Java
    */
   public String javaTrigger() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _java_trigger;
   }
 
@@ -480,6 +485,7 @@ abstract class UmlBaseAcceptEventAction extends UmlActivityAction {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaTrigger(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaTriggerCmd, v);
     UmlCom.check();
   
@@ -930,7 +936,7 @@ abstract class UmlBaseAcceptCallAction extends UmlActivityAction {
    *  return the trigger in C++
    */
   public String cppTrigger() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _cpp_trigger;
   }
 
@@ -940,6 +946,7 @@ abstract class UmlBaseAcceptCallAction extends UmlActivityAction {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppTrigger(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppTriggerCmd, v);
     UmlCom.check();
   
@@ -950,7 +957,7 @@ abstract class UmlBaseAcceptCallAction extends UmlActivityAction {
    *  return the trigger in Java
    */
   public String javaTrigger() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _java_trigger;
   }
 
@@ -960,6 +967,7 @@ abstract class UmlBaseAcceptCallAction extends UmlActivityAction {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaTrigger(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaTriggerCmd, v);
     UmlCom.check();
   
@@ -1054,7 +1062,7 @@ abstract class UmlBaseReplyAction extends UmlActivityAction {
    *  return the replyToCall trigger in C++
    */
   public String cppReplyToCall() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _cpp_trigger;
   }
 
@@ -1064,6 +1072,7 @@ abstract class UmlBaseReplyAction extends UmlActivityAction {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppReplyToCall(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppTriggerCmd, v);
     UmlCom.check();
   
@@ -1074,7 +1083,7 @@ abstract class UmlBaseReplyAction extends UmlActivityAction {
    *  return the replyToCall trigger in Java
    */
   public String javaReplyToCall() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _java_trigger;
   }
 
@@ -1084,6 +1093,7 @@ abstract class UmlBaseReplyAction extends UmlActivityAction {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaReplyToCall(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaTriggerCmd, v);
     UmlCom.check();
   
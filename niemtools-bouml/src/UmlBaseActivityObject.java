@@ -110,7 +110,7 @@ abstract class UmlBaseActivityObject extends UmlActivityNode {
    *  return the selection in C++
    */
   public String cppSelection() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _cpp_selection;
   }
 
@@ -120,6 +120,7 @@ abstract class UmlBaseActivityObject extends UmlActivityNode {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppSelection(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppActivityCmd, v);
     UmlCom.check();
   
@@ -130,7 +131,7 @@ abstract class UmlBaseActivityObject extends UmlActivityNode {
    *  return the selection in Java
    */
   public String javaSelection() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _java_selection;
   }
 
@@ -140,6 +141,7 @@ abstract class UmlBaseActivityObject extends UmlActivityNode {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaSelection(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaActivityCmd, v);
     UmlCom.check();
   
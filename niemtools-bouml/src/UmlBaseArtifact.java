@@ -197,7 +197,7 @@ abstract class UmlBaseArtifact extends UmlItem {
    *  returns the C++ header file definition
    */
   public String cppHeader() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _cpp_h;
   }
@@ -208,6 +208,7 @@ abstract class UmlBaseArtifact extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppHeader(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppHCmd, s);
     UmlCom.check();
   
@@ -218,7 +219,7 @@ abstract class UmlBaseArtifact extends UmlItem {
    *  returns the C++ source file definition
    */
   public String cppSource() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _cpp_src;
   }
@@ -229,6 +230,7 @@ abstract class UmlBaseArtifact extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppSource(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppSrcCmd, s);
     UmlCom.check();
   
@@ -239,7 +241,7 @@ abstract class UmlBaseArtifact extends UmlItem {
    *  returns the Java file definition
    */
   public String javaSource() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _java_src;
   }
@@ -250,6 +252,7 @@ abstract class UmlBaseArtifact extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaSource(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaSrcCmd, s);
     UmlCom.check();
   
@@ -260,7 +263,7 @@ abstract class UmlBaseArtifact extends UmlItem {
    *  returns the Php file definition
    */
   public String phpSource() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _php_src;
   }
@@ -271,6 +274,7 @@ abstract class UmlBaseArtifact extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_PhpSource(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setPhpSrcCmd, s);
     UmlCom.check();
   
@@ -281,7 +285,7 @@ abstract class UmlBaseArtifact extends UmlItem {
    *  returns the Python file definition
    */
   public String pythonSource() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _python_src;
   }
@@ -292,6 +296,7 @@ abstract class UmlBaseArtifact extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_PythonSource(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setPythonSrcCmd, s);
     UmlCom.check();
   
@@ -302,7 +307,7 @@ abstract class UmlBaseArtifact extends UmlItem {
    *  returns the Idl file definition
    */
   public String idlSource() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _idl_src;
   }
@@ -313,6 +318,7 @@ abstract class UmlBaseArtifact extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_IdlSource(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIdlSrcCmd, s);
     UmlCom.check();
   
@@ -323,7 +329,7 @@ abstract class UmlBaseArtifact extends UmlItem {
    *  returns the MySql file definition
    */
   public String mysqlSource() {
-    read_if_needed_();
+    read_languages_if_needed_();
   
     return _mysql_src;
   }
@@ -334,6 +340,7 @@ abstract class UmlBaseArtifact extends UmlItem {
    *  On error : return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_MysqlSource(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setMysqlSrcCmd, s);
     UmlCom.check();
   
@@ -30,6 +30,7 @@ abstract class UmlBaseAttribute extends UmlClassMember {
    *  On error : return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isClassMember(boolean y) throws RuntimeException {
+    decode_languages_();
     if (!y)
       _cpp_thread_local = false;
     super.set_isClassMember(y);
@@ -237,7 +238,7 @@ abstract class UmlBaseAttribute extends UmlClassMember {
    *  Indicate if the attribute is 'mutable'
    */
   public boolean isCppMutable() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _cpp_mutable;
   }
@@ -248,6 +249,7 @@ abstract class UmlBaseAttribute extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isCppMutable(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsCppMutableCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -258,7 +260,7 @@ abstract class UmlBaseAttribute extends UmlClassMember {
    *  Indicate if the attribute is 'constexpr'
    */
   public boolean isCppConstExpr() {
-    read_if_needed_();
+    read_languages_if_needed_();
   
     return _cpp_constexpr;
   }
@@ -269,6 +271,7 @@ abstract class UmlBaseAttribute extends UmlClassMember {
    *  On error : return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isCppConstExpr(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsCppConstExprCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -279,7 +282,7 @@ abstract class UmlBaseAttribute extends UmlClassMember {
    *  Indicate if the attribute is 'thread_local'
    */
   public boolean isCppThreadLocal() {
-    read_if_needed_();
+    read_languages_if_needed_();
   
     return _cpp_thread_local;
   }
@@ -290,6 +293,7 @@ abstract class UmlBaseAttribute extends UmlClassMember {
    *  On error : return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isCppThreadLocal(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsCppThreadLocalCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -302,7 +306,7 @@ abstract class UmlBaseAttribute extends UmlClassMember {
    *  indicates if the attribute is 'transient', returns TRUE if yes
    */
   public boolean isJavaTransient() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _java_transient;
   }
@@ -313,6 +317,7 @@ abstract class UmlBaseAttribute extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isJavaTransient(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsJavaTransientCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -324,7 +329,7 @@ abstract class UmlBaseAttribute extends UmlClassMember {
    *  corresponding 'case', an empty string in case it is not specified
    */
   public String idlCase() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return (_idl_case != null) ? _idl_case.name() : _idl_explicit_case;
   }
@@ -336,6 +341,7 @@ abstract class UmlBaseAttribute extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_IdlCase(UmlAttribute a) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIdlCaseCmd, a.identifier_(), "");
     UmlCom.check();
     
@@ -350,6 +356,7 @@ abstract class UmlBaseAttribute extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_IdlCase(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIdlCaseCmd, (long) 0, s);
     UmlCom.check();
     
@@ -363,7 +370,7 @@ abstract class UmlBaseAttribute extends UmlClassMember {
    *  represents, else the return value doesn't have meaning.
    */
   public aMySqlKind mysqlKind() {
-    read_if_needed_();
+    read_languages_if_needed_();
   
     return _mysql_kind;
   }
@@ -374,6 +381,7 @@ abstract class UmlBaseAttribute extends UmlClassMember {
    *  On error : return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_MysqlKind(aMySqlKind v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setMysqlKindCmd, (byte) v.value());
     UmlCom.check();
   
@@ -385,7 +393,7 @@ abstract class UmlBaseAttribute extends UmlClassMember {
    *  if it must be not null, else the return value doesn't have meaning
    */
   public boolean isMysqlNotNull() {
-    read_if_needed_();
+    read_languages_if_needed_();
   
     return _mysql_notnull_hash;
   }
@@ -396,6 +404,7 @@ abstract class UmlBaseAttribute extends UmlClassMember {
    *  On error : return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isMysqlNotNull(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsMysqlNotNullHashCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -407,7 +416,7 @@ abstract class UmlBaseAttribute extends UmlClassMember {
    *  if auto increment is true, else the return value doesn't have meaning.
    */
   public boolean isMysqlAutoIncrement() {
-    read_if_needed_();
+    read_languages_if_needed_();
   
     return _mysql_autoincr_btree;
   }
@@ -418,6 +427,7 @@ abstract class UmlBaseAttribute extends UmlClassMember {
    *  On error : return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isMysqlAutoIncrement(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsMysqlAutoIncrBtreeCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -429,7 +439,7 @@ abstract class UmlBaseAttribute extends UmlClassMember {
    *  else the return value doesn't have meaning
    */
   public String mysqlConstraint() {
-    read_if_needed_();
+    read_languages_if_needed_();
   
     return _mysql_constraint;
   }
@@ -440,6 +450,7 @@ abstract class UmlBaseAttribute extends UmlClassMember {
    *  On error : return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_MysqlConstraint(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setMysqlConstraintCmd, s);
     UmlCom.check();
   
@@ -451,7 +462,7 @@ abstract class UmlBaseAttribute extends UmlClassMember {
    *  uses btree, else the return value doesn't have meaning.
    */
   public boolean isMysqlUsingBtree() {
-    read_if_needed_();
+    read_languages_if_needed_();
   
     return _mysql_autoincr_btree;
   }
@@ -470,7 +481,7 @@ abstract class UmlBaseAttribute extends UmlClassMember {
    *  uses hash, else the return value doesn't have meaning.
    */
   public boolean isMysqlUsingHash() {
-    read_if_needed_();
+    read_languages_if_needed_();
   
     return _mysql_notnull_hash;
   }
@@ -489,7 +500,7 @@ abstract class UmlBaseAttribute extends UmlClassMember {
    *  significant when the attribute is a key of a table
    */
   public UmlAttribute[] mysqlColumns() {
-    read_if_needed_();
+    read_languages_if_needed_();
   
     return (UmlAttribute[]) _mysql_columns.clone();
   }
@@ -501,6 +512,7 @@ abstract class UmlBaseAttribute extends UmlClassMember {
    *  On error : return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_MysqlColumns(UmlAttribute[] l) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setMysqlColumnsCmd, (UmlItem[]) l);
     UmlCom.check();
     _mysql_columns = (UmlAttribute[]) l.clone();
@@ -226,7 +226,7 @@ abstract class UmlBaseClass extends UmlClassMember {
    *  must contains the #include and may be using forms
    */
   public boolean isCppExternal() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _cpp_external;
   }
@@ -237,6 +237,7 @@ abstract class UmlBaseClass extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isCppExternal(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsCppExternalCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -249,7 +250,7 @@ abstract class UmlBaseClass extends UmlClassMember {
    *  (isJavaExternal by default), the other lines are ignored
    */
   public boolean isJavaExternal() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _java_external;
   }
@@ -260,6 +261,7 @@ abstract class UmlBaseClass extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isJavaExternal(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsJavaExternalCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -286,7 +288,7 @@ abstract class UmlBaseClass extends UmlClassMember {
    *  returns TRUE if the (inner) class is declared static in JAVA
    */
   public boolean isJavaStatic() {
-    read_if_needed_();
+    read_languages_if_needed_();
   
     return _java_static;
   }
@@ -297,6 +299,7 @@ abstract class UmlBaseClass extends UmlClassMember {
    *  On error : return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isJavaStatic(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsJavaStaticCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -307,7 +310,7 @@ abstract class UmlBaseClass extends UmlClassMember {
    *  returns TRUE is the class is final   
    */
   public boolean isJavaFinal() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _java_final;
   }
@@ -318,6 +321,7 @@ abstract class UmlBaseClass extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isJavaFinal(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsJavaFinalCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -330,7 +334,7 @@ abstract class UmlBaseClass extends UmlClassMember {
    *  (isPhpExternal by default), the other lines are ignored
    */
   public boolean isPhpExternal() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _php_external;
   }
@@ -341,6 +345,7 @@ abstract class UmlBaseClass extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isPhpExternal(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsPhpExternalCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -351,7 +356,7 @@ abstract class UmlBaseClass extends UmlClassMember {
    *  returns TRUE is the class is final   
    */
   public boolean isPhpFinal() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _php_final;
   }
@@ -362,6 +367,7 @@ abstract class UmlBaseClass extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isPhpFinal(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsPhpFinalCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -374,7 +380,7 @@ abstract class UmlBaseClass extends UmlClassMember {
    *  (isPythonExternal by default), the other lines are ignored
    */
   public boolean isPythonExternal() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _python_external;
   }
@@ -385,6 +391,7 @@ abstract class UmlBaseClass extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isPythonExternal(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsPythonExternalCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -395,7 +402,7 @@ abstract class UmlBaseClass extends UmlClassMember {
    *  returns TRUE is the class is a Python 2.2 class
    */
   public boolean isPython_2_2() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _python_2_2;
   }
 
@@ -405,6 +412,7 @@ abstract class UmlBaseClass extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isPython_2_2(boolean v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsPython2_2Cmd, (v) ? 1 : 0);
     UmlCom.check();
   
@@ -416,7 +424,7 @@ abstract class UmlBaseClass extends UmlClassMember {
    *  is an union in IDL
    */
   public UmlTypeSpec switchType() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _switch_type.clone_it();
   }
@@ -427,6 +435,7 @@ abstract class UmlBaseClass extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_SwitchType(UmlTypeSpec t) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setSwitchTypeCmd, t);
     UmlCom.check();
   
@@ -439,7 +448,7 @@ abstract class UmlBaseClass extends UmlClassMember {
    *  (isIdlExternal by default), the other lines are ignored
    */
   public boolean isIdlExternal() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _idl_external;
   }
@@ -450,6 +459,7 @@ abstract class UmlBaseClass extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isIdlExternal(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsIdlExternalCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -460,7 +470,7 @@ abstract class UmlBaseClass extends UmlClassMember {
    *  returns TRUE if the class is local, have sense for an interface
    */
   public boolean isIdlLocal() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _idl_local;
   }
@@ -471,6 +481,7 @@ abstract class UmlBaseClass extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isIdlLocal(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsIdlLocalCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -481,7 +492,7 @@ abstract class UmlBaseClass extends UmlClassMember {
    *  returns TRUE is the class is custom, have sense for a valuetype
    */
   public boolean isIdlCustom() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _idl_custom;
   }
@@ -492,6 +503,7 @@ abstract class UmlBaseClass extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isIdlCustom(boolean y) {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsIdlCustomCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -7,7 +7,7 @@ abstract class UmlBaseClassItem extends UmlItem {
    *   return the C++ declaration
    */
   public String cppDecl() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _cpp_decl;
   }
@@ -18,6 +18,7 @@ abstract class UmlBaseClassItem extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppDecl(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppDeclCmd, s);
     UmlCom.check();
   
@@ -28,7 +29,7 @@ abstract class UmlBaseClassItem extends UmlItem {
    *   return the Java defininition
    */
   public String javaDecl() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _java_decl;
   }
@@ -39,6 +40,7 @@ abstract class UmlBaseClassItem extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaDecl(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaDeclCmd, s);
     UmlCom.check();
   
@@ -49,7 +51,7 @@ abstract class UmlBaseClassItem extends UmlItem {
    *   return the Php defininition
    */
   public String phpDecl() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _php_decl;
   }
@@ -60,6 +62,7 @@ abstract class UmlBaseClassItem extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_PhpDecl(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setPhpDeclCmd, s);
     UmlCom.check();
   
@@ -70,7 +73,7 @@ abstract class UmlBaseClassItem extends UmlItem {
    *   return the Python defininition
    */
   public String pythonDecl() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _python_decl;
   }
@@ -81,6 +84,7 @@ abstract class UmlBaseClassItem extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_PythonDecl(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setPythonDeclCmd, s);
     UmlCom.check();
   
@@ -91,7 +95,7 @@ abstract class UmlBaseClassItem extends UmlItem {
    *   return the IDL declaration
    */
   public String idlDecl() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _idl_decl;
   }
@@ -102,6 +106,7 @@ abstract class UmlBaseClassItem extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_IdlDecl(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIdlDeclCmd, s);
     UmlCom.check();
   
@@ -112,7 +117,7 @@ abstract class UmlBaseClassItem extends UmlItem {
    *  return the MYSQL declaration
    */
   public String mysqlDecl() {
-    read_if_needed_();
+    read_languages_if_needed_();
   
     return _mysql_decl;
   }
@@ -123,6 +128,7 @@ abstract class UmlBaseClassItem extends UmlItem {
    *  On error : return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_MysqlDecl(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setMysqlDeclCmd, s);
     UmlCom.check();
   
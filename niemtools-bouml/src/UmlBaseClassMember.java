@@ -81,7 +81,7 @@ abstract class UmlBaseClassMember extends UmlClassItem {
    *  DefaultVisibility
    */
   public aVisibility cppVisibility() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _cpp_visibility;
   }
@@ -93,6 +93,7 @@ abstract class UmlBaseClassMember extends UmlClassItem {
    *  does not check that the class is (already) a typedef
    */
   public void set_CppVisibility(aVisibility v) throws RuntimeException {
+    decode_languages_();
     if (v == aVisibility.DefaultVisibility)
       throw new RuntimeException("Cannot be done");
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppVisibilityCmd, (byte) v.value());
@@ -105,7 +106,7 @@ abstract class UmlBaseClassMember extends UmlClassItem {
    *  returns the Java annotations
    */
   public String javaAnnotations() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _java_annotation;
   }
@@ -116,6 +117,7 @@ abstract class UmlBaseClassMember extends UmlClassItem {
    *  On error : return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaAnnotations(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaAnnotationCmd, v);
     UmlCom.check();
     
@@ -27,7 +27,7 @@ abstract class UmlBaseExtraClassMember extends UmlClassItem {
    *  returns TRUE if the extra member is managed as an inline operation in C++
    */
   public boolean isCppInline() {
-    read_if_needed_();
+    read_languages_if_needed_();
       
     return _cpp_inline;
   }
@@ -38,6 +38,7 @@ abstract class UmlBaseExtraClassMember extends UmlClassItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isCppInline(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsCppInlineCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -49,7 +50,7 @@ abstract class UmlBaseExtraClassMember extends UmlClassItem {
    *  is returned by the inherited ClassItemBase::CppDecl() operation
    */
   public String cppDef() {
-    read_if_needed_();
+    read_languages_if_needed_();
       
     return _cpp_def;
   }
@@ -61,6 +62,7 @@ abstract class UmlBaseExtraClassMember extends UmlClassItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppDef(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppDefCmd, s);
     UmlCom.check();
   
@@ -118,7 +118,7 @@ abstract class UmlBaseFlow extends UmlItem {
    *  return the weight in C++
    */
   public String cppWeight() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _cpp.weight;
   }
 
@@ -128,6 +128,7 @@ abstract class UmlBaseFlow extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppWeight(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppActivityCmd, v);
     UmlCom.check();
   
@@ -138,7 +139,7 @@ abstract class UmlBaseFlow extends UmlItem {
    *  return the guard in C++
    */
   public String cppGuard() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _cpp.guard;
   }
 
@@ -148,6 +149,7 @@ abstract class UmlBaseFlow extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppGuard(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppGuardCmd, v);
     UmlCom.check();
   
@@ -158,7 +160,7 @@ abstract class UmlBaseFlow extends UmlItem {
    *  return the selection in C++
    */
   public String cppSelection() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _cpp.selection;
   }
 
@@ -168,6 +170,7 @@ abstract class UmlBaseFlow extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppSelection(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppEntryBehaviorCmd, v);
     UmlCom.check();
   
@@ -178,7 +181,7 @@ abstract class UmlBaseFlow extends UmlItem {
    *  return the transformation in C++
    */
   public String cppTransformation() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _cpp.transformation;
   }
 
@@ -188,6 +191,7 @@ abstract class UmlBaseFlow extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppTransformation(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppExitBehaviorCmd, v);
     UmlCom.check();
   
@@ -198,7 +202,7 @@ abstract class UmlBaseFlow extends UmlItem {
    *  return the weight in Java
    */
   public String javaWeight() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _java.weight;
   }
 
@@ -208,6 +212,7 @@ abstract class UmlBaseFlow extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaWeight(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaActivityCmd, v);
     UmlCom.check();
   
@@ -218,7 +223,7 @@ abstract class UmlBaseFlow extends UmlItem {
    *  return the guard in Java
    */
   public String javaGuard() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _java.guard;
   }
 
@@ -228,6 +233,7 @@ abstract class UmlBaseFlow extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaGuard(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaGuardCmd, v);
     UmlCom.check();
   
@@ -238,7 +244,7 @@ abstract class UmlBaseFlow extends UmlItem {
    *  return the selection in Java
    */
   public String javaSelection() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _java.selection;
   }
 
@@ -248,6 +254,7 @@ abstract class UmlBaseFlow extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaSelection(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaEntryBehaviorCmd, v);
     UmlCom.check();
   
@@ -258,7 +265,7 @@ abstract class UmlBaseFlow extends UmlItem {
    *  return the transformation in Java
    */
   public String javaTransformation() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _java.transformation;
   }
 
@@ -268,6 +275,7 @@ abstract class UmlBaseFlow extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaTransformation(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaExitBehaviorCmd, v);
     UmlCom.check();
   
@@ -68,6 +68,8 @@ abstract class UmlBaseItem {
    *   On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_Stereotype(String s) throws RuntimeException {
+    // BOUML may add the properties of a profile
+    write_pending_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setStereotypeCmd, s);
     UmlCom.check();
     
@@ -82,6 +84,7 @@ abstract class UmlBaseItem {
    *  If the element is read-only, return FALSE in C++, produce a RuntimeException in Java
    */
   public void applyStereotype() throws RuntimeException {
+    write_pending_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.applyStereotypeCmd);
     UmlCom.check();
     unload(false, false);
@@ -99,10 +102,17 @@ abstract class UmlBaseItem {
   /**
    *  to set the description
    *   On error return FALSE in C++, produce a RuntimeException in Java
+   * 
+   *  Nothing is done if the known description is already 's', else
+   *  the description is really sent to BOUML by flush()
    */
   public void set_Description(String s) throws RuntimeException {
-    UmlCom.send_cmd(identifier_(), OnInstanceCmd.setDescriptionCmd, s);
-    UmlCom.check();
+    if (_defined && (s != null) && s.equals(_description))
+      return;
+    
+    pending_();
+    // null is sent as an empty string
+    _pending_description = (s == null) ? "" : s;
     
     if (_defined) _description = s;
   
@@ -132,6 +142,28 @@ abstract class UmlBaseItem {
     return (UmlItem[]) _children.clone();
   }
 
+  /**
+   *  returns the number of children, without copying the children list
+   *  contrary to children()
+   */
+  public int childrenCount() {
+    if (_children == null)
+      read_children_();
+    
+    return _children.length;
+  }
+
+  /**
+   *  returns the child at the given rank, without copying the children
+   *  list contrary to children(). The rank must be less than childrenCount()
+   */
+  public UmlItem childAt(int rank) {
+    if (_children == null)
+      read_children_();
+    
+    return _children[rank];
+  }
+
   /**
    *  return TRUE if the children exist and are visible (independently
    *  of the scroll bar) in the browser, else FALSE
@@ -180,13 +212,29 @@ abstract class UmlBaseItem {
    *  to set (may be insert a new) the value 'v' associated to the key 'k'
    *  
    *  On error return FALSE in C++, produce a RuntimeException in Java
+   * 
+   *  Nothing is done if the property already has the value 'v', else
+   *  the value is really sent to BOUML by flush(), only the last
+   *  value set before is sent
    */
 @SuppressWarnings("unchecked")
 public void set_PropertyValue(String k, String v) throws RuntimeException {
     read_if_needed_();
     
-    UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCoupleValueCmd, k, v);
-    UmlCom.check();
+    if ((k == null) || (v == null)) {
+      // cannot be memorized in a Hashtable
+      UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCoupleValueCmd, k, v);
+      UmlCom.check();
+      return;
+    }
+    
+    if ((_dict != null) && v.equals(_dict.get(k)))
+      return;
+    
+    pending_();
+    if (_pending == null)
+      _pending = new Hashtable<String, String>();
+    _pending.put(k, v);
     
     if (_dict == null)
       _dict = new Hashtable();
@@ -195,6 +243,37 @@ public void set_PropertyValue(String k, String v) throws RuntimeException {
   
   }
 
+  /**
+   *  send to BOUML the property values and descriptions set
+   *  since the last call, using the pipelined mode
+   * 
+   *  This is done automatically by UmlCom.set_phase(), UmlCom.bye(),
+   *  when the pipelined mode is unset, before a deleteIt() and
+   *  when too many items have pending modifications
+   *  
+   *  On error produce a RuntimeException in Java, see UmlCom.sync()
+   */
+  public static void flush() throws RuntimeException {
+    if (_dirty.isEmpty())
+      return;
+    
+    Vector<UmlBaseItem> dirty = _dirty;
+    boolean was_pipelined = UmlCom.pipelined();
+    
+    _dirty = new Vector<UmlBaseItem>();
+    UmlCom.set_pipelined(true);
+    try {
+      int n = dirty.size();
+      
+      for (int index = 0; index != n; index += 1)
+        dirty.elementAt(index).write_pending_();
+    }
+    finally {
+      if (! was_pipelined)
+        UmlCom.set_pipelined(false);
+    }
+  }
+
   /**
    *  returns all the properties of the object through (in Java a copy of) a dictionnary
    */
@@ -311,7 +390,9 @@ public Hashtable properties() {
    *  you will have to call Children() to re-access to them
    */
   public void unload(boolean rec, boolean del) {
+    write_pending_();
     _defined = false;
+    _languages = null;
     _stereotype = null;
     _dict = null;
     _description = null;
@@ -321,7 +402,7 @@ public Hashtable properties() {
         for (int chindex = 0; chindex != _children.length; chindex += 1) {
   	_children[chindex].unload(true, del);
   	if (del)
-  	  _all.remove(new Long(_children[chindex].identifier_()));
+  	  _all.remove(_children[chindex].identifier_());
       }
   
       _children = null;
@@ -335,6 +416,8 @@ public Hashtable properties() {
    *  On error : return FALSE in C++, produce a RuntimeException in Java
    */
   public void deleteIt() throws RuntimeException {
+    // the sub items must not have pending modifications when unloaded
+    flush();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.deleteCmd);
     UmlCom.check();
     parent().unload(true, false);
@@ -349,17 +432,121 @@ public Hashtable properties() {
     return UmlCom.read_bool();
   }
 
+  /**
+   *  to size the table associating the items to their identifier for
+   *  'expected' items, to not grow it again and again when a large model
+   *  is read. In weak mode an item no longer referenced by the plug-out
+   *  (unloaded, not memorized by memo_ref() ...) may be garbaged, it is
+   *  read again from BOUML if needed.
+   */
+  public static void set_identity_map(int expected, boolean weak)
+  {
+    _all = _all.copy(expected, weak);
+  }
+
   public static UmlItem[] markedItems()
   {
     UmlCom.send_cmd(CmdFamily.miscGlobalCmd, MiscGlobalCmd._allMarkedCmd);
     return UmlCom.read_item_list();
   }
 
+  /**
+   *  read the not yet known definitions and children of 'root' and of its
+   *  sub items up to 'depth' (0 : only 'root'), the items at the level 'depth'
+   *  only have their definition read.
+   * 
+   *  The requests of a level are sent back to back and the answers read
+   *  in the same order, rather than doing a round trip per item when
+   *  these ones are accessed.
+   */
+  public static void prefetch(UmlItem root, int depth)
+  {
+    Vector<UmlItem> level = new Vector<UmlItem>();
+    
+    level.addElement(root);
+    
+    for (int d = 0; (d <= depth) && !level.isEmpty(); d += 1) {
+      boolean with_children = (d != depth);
+      int n = level.size();
+      
+      for (int first = 0; first < n; first += prefetch_burst) {
+        int last = Math.min(n, first + prefetch_burst);
+        boolean[] def = new boolean[last - first];
+        boolean[] ch = new boolean[last - first];
+        boolean was_pipelined = UmlCom.pipelined();
+        int index;
+        
+        UmlCom.set_pipelined(true);
+        try {
+          for (index = first; index != last; index += 1) {
+            UmlBaseItem x = level.elementAt(index);
+            
+            if (def[index - first] = !x._defined)
+              UmlCom.send_cmd(x._identifier, OnInstanceCmd.getDefCmd);
+            if (ch[index - first] = (with_children && (x._children == null)))
+              UmlCom.send_cmd(x._identifier, OnInstanceCmd.childrenCmd);
+          }
+          
+          for (index = first; index != last; index += 1) {
+            UmlBaseItem x = level.elementAt(index);
+            
+            if (def[index - first])
+              x.read_def_();
+            if (ch[index - first])
+              x.read_children_answer_();
+          }
+        }
+        finally {
+          if (! was_pipelined)
+            UmlCom.set_pipelined(false);
+        }
+      }
+      
+      if (with_children) {
+        Vector<UmlItem> next = new Vector<UmlItem>();
+        
+        for (int index = 0; index != n; index += 1) {
+          UmlItem[] children = ((UmlBaseItem) level.elementAt(index))._children;
+          
+          for (int chindex = 0; chindex != children.length; chindex += 1)
+            next.addElement(children[chindex]);
+        }
+        level = next;
+      }
+    }
+  }
+
 
 /**
  * Do NOT use the next definitions
  */
   private boolean _defined;
+
+  /**
+   *  the not yet decoded language sections of the definition
+   */
+  private byte[] _languages;
+
+  /**
+   *  the property values set but not yet sent to BOUML, see flush()
+   */
+  private Hashtable<String, String> _pending;
+
+  /**
+   *  the description set but not yet sent to BOUML, see flush()
+   */
+  private String _pending_description;
+
+  /**
+   *  the items having pending modifications
+   */
+  private static Vector<UmlBaseItem> _dirty = new Vector<UmlBaseItem>();
+
+  /**
+   *  flush() is automatically called when there are that many
+   *  items having pending modifications
+   */
+  private static final int max_dirty = 4096;
   private boolean _marked;
   private long _identifier;
   private int _modeler_id;
@@ -374,19 +561,112 @@ public Hashtable properties() {
   private UmlItem _parent;
   private UmlItem[] _children;
 private Hashtable _dict;
-private static Hashtable _all;
-static { _all = new Hashtable(997); }  protected final void read_if_needed_() {
+private static UmlItemMap _all;
+static { _all = new UmlItemMap(4096, false); }
+  /**
+   *  the maximum number of items whose requests are sent together by prefetch()
+   */
+  private static final int prefetch_burst = 256;
+
+  /**
+   *  read the definition if needed, the language sections
+   *  are not decoded, see read_languages_if_needed_()
+   */
+  protected final void read_if_needed_() {
     if (!_defined) {
       UmlCom.send_cmd(identifier_(), OnInstanceCmd.getDefCmd);
-      read_uml_();
-      read_cpp_();
-      read_java_();
-      read_php_();
-      read_python_();
-      read_idl_();
-      read_mysql_();
+      read_def_();
+    }
+  }
+
+  /**
+   *  same as read_if_needed_() also decoding the language sections
+   */
+  protected final void read_languages_if_needed_() {
+    read_if_needed_();
+    decode_languages_();
+  }
+
+  /**
+   *  decode the language sections of the definition if they are not yet
+   *  decoded, must be called before to modify a language setting to not
+   *  overwrite it later by a decoding
+   */
+  protected final void decode_languages_() {
+    if (_languages != null) {
+      byte[] b = _languages;
       
-      _defined = true;
+      _languages = null;
+      UmlCom.start_decode(b);
+      try {
+        read_cpp_();
+        read_java_();
+        read_php_();
+        read_python_();
+        read_idl_();
+        read_mysql_();
+      }
+      finally {
+        UmlCom.end_decode();
+      }
+    }
+  }
+
+  /**
+   *  read the answer of a getDefCmd, the language sections are
+   *  only memorized, they are decoded when one of them is accessed
+   */
+  @SuppressWarnings("unchecked")
+  private final void read_def_() {
+    read_uml_();
+    _languages = UmlCom.read_remainder();
+    
+    // BOUML does not know yet the pending modifications
+    if (_pending != null) {
+      if (_dict == null)
+        _dict = new Hashtable();
+      _dict.putAll(_pending);
+    }
+    if (_pending_description != null)
+      _description = _pending_description;
+    
+    _defined = true;
+  }
+
+  /**
+   *  memorize the item has pending modifications
+   */
+  private final void pending_() {
+    if ((_pending == null) && (_pending_description == null)) {
+      if (_dirty.size() >= max_dirty)
+        flush();
+      _dirty.addElement(this);
+    }
+  }
+
+  /**
+   *  send the pending modifications of the item
+   */
+  private final void write_pending_() {
+    if (_pending != null) {
+      Hashtable<String, String> pending = _pending;
+      Enumeration<String> keys = pending.keys();
+      
+      _pending = null;
+      while (keys.hasMoreElements()) {
+        String k = keys.nextElement();
+        
+        UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCoupleValueCmd, k, pending.get(k));
+        UmlCom.check();
+      }
+    }
+    
+    if (_pending_description != null) {
+      String s = _pending_description;
+      
+      _pending_description = null;
+      UmlCom.send_cmd(identifier_(), OnInstanceCmd.setDescriptionCmd, s);
+      UmlCom.check();
     }
   }
 
@@ -465,6 +745,13 @@ protected void read_uml_() {
 
   protected final void read_children_() {
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.childrenCmd);
+    read_children_answer_();
+  }
+
+  /**
+   *  read the answer of a childrenCmd
+   */
+  private final void read_children_answer_() {
     _children = UmlCom.read_item_list();
     
     int n = _children.length;
@@ -478,6 +765,36 @@ protected void read_uml_() {
       read_children_();
   }
 
+  /**
+   *  returns the item of the given kind having the identifier 'id' and
+   *  the name 'name', memorized by a previous execution of the plug-out.
+   *  BOUML is not asked, the item must still exist. Only the packages,
+   *  class views, classes, attributes and class instances are supported,
+   *  else returns null
+   */
+  public static UmlItem from_id_(long id, anItemKind kind, String name)
+  {
+    UmlItem result = _all.get(id);
+    
+    if (result != null)
+      return (result.kind().value() == kind.value()) ? result : null;
+    
+    switch (kind.value()) {
+    case anItemKind._aPackage:
+      return new UmlPackage(id, name);
+    case anItemKind._aClassView:
+      return new UmlClassView(id, name);
+    case anItemKind._aClass:
+      return new UmlClass(id, name);
+    case anItemKind._anAttribute:
+      return new UmlAttribute(id, name);
+    case anItemKind._aClassInstance:
+      return new UmlClassInstance(id, name);
+    default:
+      return null;
+    }
+  }
+
   protected static UmlItem read_()
   {
     long id = UmlCom.read_id();
@@ -488,7 +805,7 @@ protected void read_uml_() {
     int kind = (int) UmlCom.read_char();
     String name = UmlCom.read_string();
     
-    UmlItem result = (UmlItem) _all.get(new Long(id));
+    UmlItem result = _all.get(id);
     
     if (result == null) {
       switch (kind) {
@@ -666,7 +983,7 @@ public UmlBaseItem(long id, String n) {
     _identifier = id;
     _name = n;
     
-    _all.put(new Long(id), this);
+    _all.put(id, (UmlItem) this);
   
   }
 
@@ -674,4 +991,6 @@ public UmlBaseItem(long id, String n) {
 
   public boolean defined_() { return _defined; }
 
+  public boolean children_read_() { return _children != null; }
+
 };
@@ -31,7 +31,7 @@ abstract class UmlBaseOnSignalAction extends UmlActivityAction {
    *  return the signal in C++
    */
   public String cppSignal() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _cpp_signal;
   }
 
@@ -41,6 +41,7 @@ abstract class UmlBaseOnSignalAction extends UmlActivityAction {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppSignal(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppActivityCmd, v);
     UmlCom.check();
   
@@ -51,7 +52,7 @@ abstract class UmlBaseOnSignalAction extends UmlActivityAction {
    *  return the signal in Java
    */
   public String javaSignal() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _java_signal;
   }
 
@@ -61,6 +62,7 @@ abstract class UmlBaseOnSignalAction extends UmlActivityAction {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaSignal(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaActivityCmd, v);
     UmlCom.check();
   
@@ -57,6 +57,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isAbstract(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsAbstractCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -285,7 +286,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  returns TRUE if the operation is declared const in C++
    */
   public boolean isCppConst() {
-    read_if_needed_();
+    read_languages_if_needed_();
       
     return _cpp_const;
   }
@@ -296,6 +297,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isCppConst(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsCppConstCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -306,7 +308,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  returns TRUE if the operation is a friend in C++
    */
   public boolean isCppFriend() {
-    read_if_needed_();
+    read_languages_if_needed_();
       
     return _cpp_friend;
   }
@@ -317,6 +319,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isCppFriend(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsCppFriendCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -329,7 +332,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  returns TRUE if the operation is declared virtual in C++
    */
   public boolean isCppVirtual() {
-    read_if_needed_();
+    read_languages_if_needed_();
       
     return _cpp_virtual;
   }
@@ -340,6 +343,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isCppVirtual(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsCppVirtualCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -350,7 +354,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  Indicate if the operation is declared override in C++
    */
   public boolean isCppOverride() {
-    read_if_needed_();
+    read_languages_if_needed_();
   
     return _cpp_override;
   }
@@ -361,6 +365,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error : return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isCppOverride(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsCppOverrideCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -371,7 +376,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  Indicate if the operation is declared final in C++
    */
   public boolean isCppFinal() {
-    read_if_needed_();
+    read_languages_if_needed_();
   
     return _cpp_final;
   }
@@ -382,6 +387,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error : return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isCppFinal(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsCppFinalCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -392,7 +398,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  Indicate if the operation is declared noexcept in C++
    */
   public boolean isCppNoexcept() {
-    read_if_needed_();
+    read_languages_if_needed_();
   
     return _cpp_noexcept;
   }
@@ -403,6 +409,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error : return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isCppNoexcept(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsCppNoexceptCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -413,7 +420,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  Indicate if the operation is declared deleted in C++
    */
   public boolean isCppDeleted() {
-    read_if_needed_();
+    read_languages_if_needed_();
   
     return _cpp_deleted;
   }
@@ -424,6 +431,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error : return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isCppDeleted(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsCppDeletedCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -436,7 +444,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  Indicate if the operation is declared defaulted in C++
    */
   public boolean isCppDefaulted() {
-    read_if_needed_();
+    read_languages_if_needed_();
   
     return _cpp_defaulted;
   }
@@ -447,6 +455,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error : return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isCppDefaulted(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsCppDefaultedCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -459,7 +468,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  returns TRUE if the operation is declared inline in C++
    */
   public boolean isCppInline() {
-    read_if_needed_();
+    read_languages_if_needed_();
       
     return _cpp_inline;
   }
@@ -470,6 +479,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isCppInline(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsCppInlineCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -481,7 +491,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  is returned by the inherited ClassItemBase::CppDecl() operation
    */
   public String cppDef() {
-    read_if_needed_();
+    read_languages_if_needed_();
       
     return _cpp_def;
   }
@@ -493,6 +503,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppDef(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppDefCmd, s);
     UmlCom.check();
   
@@ -527,7 +538,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  the operation's C++ name must be generated
    */
   public String cppNameSpec() {
-    read_if_needed_();
+    read_languages_if_needed_();
       
     return _cpp_name_spec;
   }
@@ -539,6 +550,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppNameSpec(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppNameSpecCmd, s);
     UmlCom.check();
   
@@ -549,7 +561,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  return the if the C++ definition is frozen, only for getter/setter operation
    */
   public boolean cppGetSetFrozen() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _cpp_get_set_frozen;
   }
 
@@ -559,6 +571,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppGetSetFrozen(boolean v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppFrozenCmd, (v) ? 1 : 0);
     UmlCom.check();
   
@@ -569,7 +582,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  indicate if the indent of the C++ body is contextual or absolute
    */
   public boolean cppContextualBodyIndent() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _cpp_contextual_body_indent;
   }
 
@@ -579,6 +592,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppContextualBodyIndent(boolean v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppContextualBodyIndentCmd, (v) ? 1 : 0);
     UmlCom.check();
   
@@ -589,7 +603,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  returns TRUE if the operation is declared final in JAVA
    */
   public boolean isJavaFinal() {
-    read_if_needed_();
+    read_languages_if_needed_();
       
     return _java_final;
   }
@@ -600,6 +614,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isJavaFinal(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaFinalCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -610,7 +625,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  returns TRUE if the operation is declared synchronized in JAVA
    */
   public boolean isJavaSynchronized() {
-    read_if_needed_();
+    read_languages_if_needed_();
       
     return _java_synchronized;
   }
@@ -621,6 +636,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isJavaSynchronized(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaSynchronizedCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -632,7 +648,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  relevant in an interface
    */
   public boolean isJavaDefault() {
-    read_if_needed_();
+    read_languages_if_needed_();
   
     return _java_default && !isClassMember();
   }
@@ -644,6 +660,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error : return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isJavaDefault(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaDefaultOperCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -696,7 +713,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  the operation's JAVA name must be generated
    */
   public String javaNameSpec() {
-    read_if_needed_();
+    read_languages_if_needed_();
       
     return _java_name_spec;
   }
@@ -708,6 +725,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaNameSpec(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaNameSpecCmd, s);
     UmlCom.check();
   
@@ -718,7 +736,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  return the if the Java definition is frozen, only for getter/setter operation
    */
   public boolean javaGetSetFrozen() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _java_get_set_frozen;
   }
 
@@ -728,6 +746,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaGetSetFrozen(boolean v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaFrozenCmd, (v) ? 1 : 0);
     UmlCom.check();
   
@@ -738,7 +757,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  indicate if the indent of the Java body is contextual or absolute
    */
   public boolean javaContextualBodyIndent() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _java_contextual_body_indent;
   }
 
@@ -748,6 +767,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaContextualBodyIndent(boolean v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaContextualBodyIndentCmd, (v) ? 1 : 0);
     UmlCom.check();
   
@@ -758,7 +778,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  returns TRUE if the operation is declared final in PHP
    */
   public boolean isPhpFinal() {
-    read_if_needed_();
+    read_languages_if_needed_();
       
     return _php_final;
   }
@@ -769,6 +789,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isPhpFinal(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setPhpFinalCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -821,7 +842,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  the operation's PHP name must be generated
    */
   public String phpNameSpec() {
-    read_if_needed_();
+    read_languages_if_needed_();
       
     return _php_name_spec;
   }
@@ -833,6 +854,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_PhpNameSpec(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setPhpNameSpecCmd, s);
     UmlCom.check();
   
@@ -843,7 +865,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  return the if the Php definition is frozen, only for getter/setter operation
    */
   public boolean phpGetSetFrozen() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _php_get_set_frozen;
   }
 
@@ -853,6 +875,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_PhpGetSetFrozen(boolean v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setPhpFrozenCmd, (v) ? 1 : 0);
     UmlCom.check();
   
@@ -863,7 +886,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  indicate if the indent of the PHP body is contextual or absolute
    */
   public boolean phpContextualBodyIndent() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _php_contextual_body_indent;
   }
 
@@ -873,6 +896,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_PhpContextualBodyIndent(boolean v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setPhpContextualBodyIndentCmd, (v) ? 1 : 0);
     UmlCom.check();
   
@@ -925,7 +949,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  the operation's PYTHON name must be generated
    */
   public String pythonNameSpec() {
-    read_if_needed_();
+    read_languages_if_needed_();
       
     return _python_name_spec;
   }
@@ -937,6 +961,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_PythonNameSpec(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setPythonNameSpecCmd, s);
     UmlCom.check();
   
@@ -947,7 +972,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  return the if the Python definition is frozen, only for getter/setter operation
    */
   public boolean pythonGetSetFrozen() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _python_get_set_frozen;
   }
 
@@ -957,6 +982,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_PythonGetSetFrozen(boolean v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setPythonFrozenCmd, (v) ? 1 : 0);
     UmlCom.check();
   
@@ -967,7 +993,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  indicate if the indent of the Python body is contextual or absolute
    */
   public boolean pythonContextualBodyIndent() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _python_contextual_body_indent;
   }
 
@@ -977,6 +1003,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_PythonContextualBodyIndent(boolean v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setPythonContextualBodyIndentCmd, (v) ? 1 : 0);
     UmlCom.check();
   
@@ -987,7 +1014,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  return the  decorators
    */
   public String pythonDecorators() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _python_decorators;
   }
 
@@ -997,6 +1024,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_PythonDecorators(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setPythonDecoratorsCmd, v);
     UmlCom.check();
   
@@ -1007,7 +1035,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  returns TRUE if the operation is declared oneway in IDL
    */
   public boolean isIdlOneway() {
-    read_if_needed_();
+    read_languages_if_needed_();
       
     return _idl_oneway;
   }
@@ -1018,6 +1046,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isIdlOneway(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsIdlOnewayCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -1029,7 +1058,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  the operation's IDL name must be generated
    */
   public String idlNameSpec() {
-    read_if_needed_();
+    read_languages_if_needed_();
       
     return _idl_name_spec;
   }
@@ -1041,6 +1070,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_IdlNameSpec(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIdlNameSpecCmd, s);
     UmlCom.check();
   
@@ -1051,7 +1081,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  return the if the IDL definition is frozen, only for getter/setter operation
    */
   public boolean idlGetSetFrozen() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _idl_get_set_frozen;
   }
 
@@ -1061,6 +1091,7 @@ abstract class UmlBaseOperation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_IdlGetSetFrozen(boolean v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIdlFrozenCmd, (v) ? 1 : 0);
     UmlCom.check();
   
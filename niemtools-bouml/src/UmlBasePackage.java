@@ -62,7 +62,7 @@ abstract class UmlBasePackage extends UmlItem {
    *  c++ generator.
    */
   public String cppSrcDir() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _cpp_src_dir;
   }
@@ -75,6 +75,7 @@ abstract class UmlBasePackage extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppSrcDir(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppSrcDirCmd, s);
     UmlCom.check();
   
@@ -86,7 +87,7 @@ abstract class UmlBasePackage extends UmlItem {
    *  C++ generator.
    */
   public String cppHDir() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _cpp_h_dir;
   }
@@ -99,6 +100,7 @@ abstract class UmlBasePackage extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppHDir(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppHDirCmd, s);
     UmlCom.check();
   
@@ -109,7 +111,7 @@ abstract class UmlBasePackage extends UmlItem {
    * returns the namespace name associed to the package
    */
   public String cppNamespace() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _cpp_namespace;
   }
@@ -120,6 +122,7 @@ abstract class UmlBasePackage extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppNamespace(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppNamespaceCmd, s);
     UmlCom.check();
   
@@ -143,7 +146,7 @@ abstract class UmlBasePackage extends UmlItem {
    *  JAVA generator.
    */
   public String javaDir() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _java_dir;
   }
@@ -156,6 +159,7 @@ abstract class UmlBasePackage extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaDir(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaDirCmd, s);
     UmlCom.check();
   
@@ -166,7 +170,7 @@ abstract class UmlBasePackage extends UmlItem {
    * returns the java package name associed to the package
    */
   public String javaPackage() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _java_package;
   }
@@ -177,6 +181,7 @@ abstract class UmlBasePackage extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaPackage(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaPackageCmd, s);
     UmlCom.check();
   
@@ -200,7 +205,7 @@ abstract class UmlBasePackage extends UmlItem {
    *  PHP generator.
    */
   public String phpDir() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _php_dir;
   }
@@ -213,6 +218,7 @@ abstract class UmlBasePackage extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_PhpDir(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setPhpDirCmd, s);
     UmlCom.check();
   
@@ -223,7 +229,7 @@ abstract class UmlBasePackage extends UmlItem {
    *  return the namespace name associed to the package
    */
   public String phpNamespace() {
-    read_if_needed_();
+    read_languages_if_needed_();
   
     return _php_namespace;
   }
@@ -234,6 +240,7 @@ abstract class UmlBasePackage extends UmlItem {
    *  On error : return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_PhpNamespace(String v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setPhpNamespaceCmd, v);
     UmlCom.check();
   
@@ -254,7 +261,7 @@ abstract class UmlBasePackage extends UmlItem {
    *  PYTHON generator.
    */
   public String pythonDir() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _python_dir;
   }
@@ -267,6 +274,7 @@ abstract class UmlBasePackage extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_PythonDir(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setPythonDirCmd, s);
     UmlCom.check();
   
@@ -277,7 +285,7 @@ abstract class UmlBasePackage extends UmlItem {
    * returns the python package name associed to the package
    */
   public String pythonPackage() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _python_package;
   }
@@ -288,6 +296,7 @@ abstract class UmlBasePackage extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_PythonPackage(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setPythonPackageCmd, s);
     UmlCom.check();
   
@@ -311,7 +320,7 @@ abstract class UmlBasePackage extends UmlItem {
    *  IDL generator.
    */
   public String idlDir() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _idl_dir;
   }
@@ -324,6 +333,7 @@ abstract class UmlBasePackage extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_IdlDir(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIdlDirCmd, s);
     UmlCom.check();
   
@@ -334,7 +344,7 @@ abstract class UmlBasePackage extends UmlItem {
    * returns the module name associed to the package
    */
   public String idlModule() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _idl_module;
   }
@@ -345,6 +355,7 @@ abstract class UmlBasePackage extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_IdlModule(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIdlModuleCmd, s);
     UmlCom.check();
   
@@ -368,7 +379,7 @@ abstract class UmlBasePackage extends UmlItem {
    *  Mysql generator.
    */
   public String mysqlDir() {
-    read_if_needed_();
+    read_languages_if_needed_();
   
     return _mysql_dir;
   }
@@ -381,6 +392,7 @@ abstract class UmlBasePackage extends UmlItem {
    *  On error : return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_MysqlDir(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setMysqlDirCmd, s);
     UmlCom.check();
   
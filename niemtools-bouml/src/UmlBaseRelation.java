@@ -77,6 +77,7 @@ abstract class UmlBaseRelation extends UmlClassMember {
    *  On error : return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isClassMember(boolean y) throws RuntimeException {
+    decode_languages_();
     if (!y)
       _cpp_thread_local = false;
     super.set_isClassMember(y);
@@ -335,7 +336,7 @@ abstract class UmlBaseRelation extends UmlClassMember {
    *  indicates if the inheritance is virtual in C++, returns TRUE if yes
    */
   public boolean cppVirtualInheritance() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _cpp_virtual_inheritance;
   }
@@ -346,6 +347,7 @@ abstract class UmlBaseRelation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppVirtualInheritance(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppVirtualInheritanceCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -356,7 +358,7 @@ abstract class UmlBaseRelation extends UmlClassMember {
    *  Indicate if the relation is 'mutable'
    */
   public boolean isCppMutable() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _cpp_mutable;
   }
@@ -367,6 +369,7 @@ abstract class UmlBaseRelation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isCppMutable(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsCppMutableCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -377,7 +380,7 @@ abstract class UmlBaseRelation extends UmlClassMember {
    *  Indicate if the relation is 'constexpr'
    */
   public boolean isCppConstExpr() {
-    read_if_needed_();
+    read_languages_if_needed_();
   
     return _cpp_constexpr;
   }
@@ -388,6 +391,7 @@ abstract class UmlBaseRelation extends UmlClassMember {
    *  On error : return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isCppConstExpr(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsCppConstExprCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -398,7 +402,7 @@ abstract class UmlBaseRelation extends UmlClassMember {
    *  Indicate if the relation is 'thread_local'
    */
   public boolean isCppThreadLocal() {
-    read_if_needed_();
+    read_languages_if_needed_();
   
     return _cpp_thread_local;
   }
@@ -409,6 +413,7 @@ abstract class UmlBaseRelation extends UmlClassMember {
    *  On error : return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isCppThreadLocal(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsCppThreadLocalCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -421,7 +426,7 @@ abstract class UmlBaseRelation extends UmlClassMember {
    *  indicates if the relation is 'transient', returns TRUE if yes
    */
   public boolean isJavaTransient() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _java_transient;
   }
@@ -432,6 +437,7 @@ abstract class UmlBaseRelation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isJavaTransient(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsJavaTransientCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -443,7 +449,7 @@ abstract class UmlBaseRelation extends UmlClassMember {
    *  have sense only for a valuetype inheritance
    */
   public boolean isIdlTruncatableInheritance() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return _idl_truncatable;
   }
@@ -454,6 +460,7 @@ abstract class UmlBaseRelation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_isIdlTruncatableInheritance(boolean y) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIsIdlTruncatableCmd, (y) ? (byte) 1 : (byte) 0);
     UmlCom.check();
   
@@ -465,7 +472,7 @@ abstract class UmlBaseRelation extends UmlClassMember {
    *  corresponding 'case', an empty string in case it is not specified
    */
   public String idlCase() {
-    read_if_needed_();
+    read_languages_if_needed_();
     
     return (_idl_case != null) ? _idl_case.name() : _idl_explicit_case;
   }
@@ -477,6 +484,7 @@ abstract class UmlBaseRelation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_IdlCase(UmlAttribute a) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIdlCaseCmd, a.identifier_(), "");
     UmlCom.check();
     
@@ -492,6 +500,7 @@ abstract class UmlBaseRelation extends UmlClassMember {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_IdlCase(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setIdlCaseCmd, (long) 0, s);
     UmlCom.check();
     
@@ -505,7 +514,7 @@ abstract class UmlBaseRelation extends UmlClassMember {
    *  the constraint, else the return value doesn't have meaning.
    */
   public String mysqlConstraint() {
-    read_if_needed_();
+    read_languages_if_needed_();
   
     return _mysql_constraint;
   }
@@ -516,6 +525,7 @@ abstract class UmlBaseRelation extends UmlClassMember {
    *  On error : return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_MysqlConstraint(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setMysqlConstraintCmd, s);
     UmlCom.check();
   
@@ -527,7 +537,7 @@ abstract class UmlBaseRelation extends UmlClassMember {
    *  significant when the relation is a foreign key of a table
    */
   public UmlAttribute[] mysqlColumns() {
-    read_if_needed_();
+    read_languages_if_needed_();
   
     return (UmlAttribute[]) _mysql_columns.clone();
   }
@@ -539,6 +549,7 @@ abstract class UmlBaseRelation extends UmlClassMember {
    *  On error : return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_MysqlColumns(UmlAttribute[] l) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setMysqlColumnsCmd, (UmlItem[]) l);
     UmlCom.check();
     _mysql_columns = (UmlAttribute[]) l.clone();
@@ -549,7 +560,7 @@ abstract class UmlBaseRelation extends UmlClassMember {
    *  significant when the relation is a foreign key of a table
    */
   public UmlAttribute mysqlReferencedKey() {
-    read_if_needed_();
+    read_languages_if_needed_();
   
     return _mysql_ref_key;
   }
@@ -561,6 +572,7 @@ abstract class UmlBaseRelation extends UmlClassMember {
    *  On error : return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_MysqlReferencedKey(UmlAttribute k) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setMysqlReferencedKeyCmd, (k != null) ? k.identifier_() : 0);
     UmlCom.check();
   
@@ -572,7 +584,7 @@ abstract class UmlBaseRelation extends UmlClassMember {
    *  significant when the relation is a foreign key of a table
    */
   public aMySqlRefOption mysqlOnDelete() {
-    read_if_needed_();
+    read_languages_if_needed_();
   
     return _mysql_on_delete;
   }
@@ -584,6 +596,7 @@ abstract class UmlBaseRelation extends UmlClassMember {
    *  On error : return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_MysqlOnDelete(aMySqlRefOption v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setMysqlOnDeleteCmd, (byte) v.value());
     UmlCom.check();
   
@@ -595,7 +608,7 @@ abstract class UmlBaseRelation extends UmlClassMember {
    *  significant when the relation is a foreign key of a table
    */
   public aMySqlRefOption mysqlOnUpdate() {
-    read_if_needed_();
+    read_languages_if_needed_();
   
     return _mysql_on_update;
   }
@@ -607,6 +620,7 @@ abstract class UmlBaseRelation extends UmlClassMember {
    *  On error : return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_MysqlOnUpdate(aMySqlRefOption v) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setMysqlOnUpdateCmd, (byte) v.value());
     UmlCom.check();
   
@@ -90,7 +90,7 @@ abstract class UmlBaseState extends UmlItem {
    *  return the entry behavior in C++
    */
   public String cppEntryBehavior() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _cpp.on_entry;
   }
 
@@ -100,6 +100,7 @@ abstract class UmlBaseState extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppEntryBehavior(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppEntryBehaviorCmd, s);
     UmlCom.check();
   
@@ -110,7 +111,7 @@ abstract class UmlBaseState extends UmlItem {
    *  return the exit behavior in C++
    */
   public String cppExitBehavior() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _cpp.on_exit;
   }
 
@@ -120,6 +121,7 @@ abstract class UmlBaseState extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppExitBehavior(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppExitBehaviorCmd, s);
     UmlCom.check();
   
@@ -130,7 +132,7 @@ abstract class UmlBaseState extends UmlItem {
    *  return the activity in C++
    */
   public String cppDoActivity() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _cpp.do_activity;
   }
 
@@ -140,6 +142,7 @@ abstract class UmlBaseState extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppDoActivity(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppActivityCmd, s);
     UmlCom.check();
   
@@ -150,7 +153,7 @@ abstract class UmlBaseState extends UmlItem {
    *  return the entry behavior in Java
    */
   public String javaEntryBehavior() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _java.on_entry;
   }
 
@@ -160,6 +163,7 @@ abstract class UmlBaseState extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaEntryBehavior(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaEntryBehaviorCmd, s);
     UmlCom.check();
   
@@ -170,7 +174,7 @@ abstract class UmlBaseState extends UmlItem {
    *  return the exit behavior in Java
    */
   public String javaExitBehavior() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _java.on_exit;
   }
 
@@ -180,6 +184,7 @@ abstract class UmlBaseState extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaExitBehavior(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaExitBehaviorCmd, s);
     UmlCom.check();
   
@@ -190,7 +195,7 @@ abstract class UmlBaseState extends UmlItem {
    *  return the activity in Java
    */
   public String javaDoActivity() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _java.do_activity;
   }
 
@@ -200,6 +205,7 @@ abstract class UmlBaseState extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaDoActivity(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaActivityCmd, s);
     UmlCom.check();
   
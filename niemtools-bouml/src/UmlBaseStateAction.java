@@ -49,7 +49,7 @@ abstract class UmlBaseStateAction extends UmlItem {
    *  return the expression in C++
    */
   public String cppExpression() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _cpp;
   }
 
@@ -59,6 +59,7 @@ abstract class UmlBaseStateAction extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppExpression(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppDeclCmd, s);
     UmlCom.check();
   
@@ -69,7 +70,7 @@ abstract class UmlBaseStateAction extends UmlItem {
    *  return the expression in Java
    */
   public String javaExpression() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _java;
   }
 
@@ -79,6 +80,7 @@ abstract class UmlBaseStateAction extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaExpression(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaDeclCmd, s);
     UmlCom.check();
   
@@ -119,7 +119,7 @@ abstract class UmlBaseTransition extends UmlItem {
    *  return the trigger in C++
    */
   public String cppTrigger() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _cpp.trigger;
   }
 
@@ -129,6 +129,7 @@ abstract class UmlBaseTransition extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppTrigger(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppTriggerCmd, s);
     UmlCom.check();
   
@@ -139,7 +140,7 @@ abstract class UmlBaseTransition extends UmlItem {
    *  return the guard in C++
    */
   public String cppGuard() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _cpp.guard;
   }
 
@@ -149,6 +150,7 @@ abstract class UmlBaseTransition extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppGuard(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppGuardCmd, s);
     UmlCom.check();
   
@@ -159,7 +161,7 @@ abstract class UmlBaseTransition extends UmlItem {
    *  return the activity in C++
    */
   public String cppActivity() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _cpp.activity;
   }
 
@@ -169,6 +171,7 @@ abstract class UmlBaseTransition extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_CppActivity(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setCppActivityCmd, s);
     UmlCom.check();
   
@@ -179,7 +182,7 @@ abstract class UmlBaseTransition extends UmlItem {
    *  return the trigger in Java
    */
   public String javaTrigger() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _java.trigger;
   }
 
@@ -189,6 +192,7 @@ abstract class UmlBaseTransition extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaTrigger(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaTriggerCmd, s);
     UmlCom.check();
   
@@ -199,7 +203,7 @@ abstract class UmlBaseTransition extends UmlItem {
    *  return the guard in Java
    */
   public String javaGuard() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _java.guard;
   }
 
@@ -209,6 +213,7 @@ abstract class UmlBaseTransition extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaGuard(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaGuardCmd, s);
     UmlCom.check();
   
@@ -219,7 +224,7 @@ abstract class UmlBaseTransition extends UmlItem {
    *  return the activity in Java
    */
   public String javaActivity() {
-    read_if_needed_();
+    read_languages_if_needed_();
     return _java.activity;
   }
 
@@ -229,6 +234,7 @@ abstract class UmlBaseTransition extends UmlItem {
    *  On error return FALSE in C++, produce a RuntimeException in Java
    */
   public void set_JavaActivity(String s) throws RuntimeException {
+    decode_languages_();
     UmlCom.send_cmd(identifier_(), OnInstanceCmd.setJavaActivityCmd, s);
     UmlCom.check();
   
@@ -1,6 +1,7 @@
 
 import java.io.*;
 import java.net.*;
+import java.nio.charset.Charset;
 
 /**
  *  This class manages the communications
@@ -23,6 +24,16 @@ import java.net.*;
  * 
  *  - message()
  * 
+ *  - set_trace_delay()
+ * 
+ *  - set_pipelined()
+ * 
+ *  - sync()
+ * 
+ *  - set_stats()
+ * 
+ *  - set_phase()
+ * 
  *  - bye()
  * 
  *  - close()
@@ -34,6 +45,10 @@ class UmlCom {
    *  does the connexion
    *  
    *  On error return FALSE in C++, produce a RuntimeException in Java
+   * 
+   *  When the system property niemtools.record is set all the frames
+   *  exchanged with BOUML are also written in the file it names, this
+   *  recording can be replayed later without BOUML by UmlComReplay
    */
   public static void connect(int port) throws RuntimeException
   {
@@ -42,6 +57,11 @@ class UmlCom {
       is = new DataInputStream(sock.getInputStream());
       os = new DataOutputStream(sock.getOutputStream());
     
+      String r = System.getProperty("niemtools.record");
+      
+      record = ((r != null) && (r.length() != 0))
+        ? UmlComReplay.start_recording(r) : null;
+    
       buffer_in_size = 1024;
       buffer_in = new byte[buffer_in_size];
       p_buffer_in = 0;
@@ -49,6 +69,15 @@ class UmlCom {
       buffer_out_size = 1024;
       buffer_out = new byte[buffer_out_size];
       p_buffer_out = 4/*bytes for length*/;
+      p_frame = 0;
+  
+      pipelined = false;
+      pending_ids = new long[max_pending];
+      n_pending = 0;
+      
+      trace_buffer = new StringBuffer();
+      pending_message = null;
+      last_message = 0;
   
       // send API version
       write_unsigned(62);
@@ -74,7 +103,34 @@ class UmlCom {
    */
   public static void trace(String s)
   {
-    send_cmd(CmdFamily.miscGlobalCmd, MiscGlobalCmd._traceCmd, s);
+    if (trace_delay == 0)
+      send_cmd(CmdFamily.miscGlobalCmd, MiscGlobalCmd._traceCmd, s);
+    else {
+      if (trace_buffer.length() == 0)
+        trace_since = System.currentTimeMillis();
+      else
+        trace_buffer.append("<br>");
+      trace_buffer.append(s);
+      
+      if ((trace_buffer.length() >= max_trace_length) ||
+          ((System.currentTimeMillis() - trace_since) >= trace_delay))
+        flush_trace();
+    }
+  }
+
+  /**
+   *  to set the maximum delay in milliseconds during which the messages
+   *  given to trace() are memorized to send them together, and the minimum
+   *  delay between two messages given to message(), the last one being
+   *  sent later if needed. 0 sends them immediately, by default 200.
+   * 
+   *  All is sent before bye()
+   */
+  public static void set_trace_delay(int ms)
+  {
+    if (sock != null)
+      flush_trace();
+    trace_delay = ms;
   }
 
   /**
@@ -82,6 +138,7 @@ class UmlCom {
    */
   public static void showTrace()
   {
+    flush_trace();
     send_cmd(CmdFamily.miscGlobalCmd, MiscGlobalCmd._showTraceCmd);
   }
 
@@ -91,6 +148,7 @@ class UmlCom {
    */
   public static void traceAutoRaise(boolean y)
   {
+    flush_trace();
     send_cmd(CmdFamily.miscGlobalCmd, MiscGlobalCmd._traceAutoRaiseCmd, (y) ? (byte) 1 : (byte) 0);
   }
 
@@ -100,7 +158,108 @@ class UmlCom {
    */
   public static void message(String s)
   {
-    send_cmd(CmdFamily.miscGlobalCmd, MiscGlobalCmd._messageCmd, s);
+    long now = System.currentTimeMillis();
+    
+    if ((trace_delay == 0) || ((now - last_message) >= trace_delay)) {
+      send_cmd(CmdFamily.miscGlobalCmd, MiscGlobalCmd._messageCmd, s);
+      pending_message = null;
+      last_message = now;
+    }
+    else
+      pending_message = s;
+  }
+
+  /**
+   *  to (un)set the pipelined mode
+   * 
+   *  In pipelined mode the commands are not sent one by one, they are
+   *  memorized in the output buffer and the acknowledgements of the
+   *  commands only returning a status (set_PropertyValue, set_Description,
+   *  set_Multiplicity ...) are not waited for. All is sent and the pending
+   *  acknowledgements are read at the next command needing an answer
+   *  (create, children, read_id ...) or when sync() is called.
+   * 
+   *  Because a failing setter is only known at this synchronization point
+   *  the produced RuntimeException indicates the identifier of the item.
+   *  Unsetting the mode does a synchronization.
+   */
+  public static void set_pipelined(boolean y) throws RuntimeException
+  {
+    if (pipelined && !y) {
+      UmlBaseItem.flush();
+      pipelined = false;
+      sync();
+    }
+    else
+      pipelined = y;
+  }
+
+  /**
+   *  return TRUE in case the pipelined mode is set
+   */
+  public static boolean pipelined()
+  {
+    return pipelined;
+  }
+
+  /**
+   *  send the memorized commands and read the pending acknowledgements,
+   *  does nothing when no command is memorized
+   *  
+   *  produce a RuntimeException if one of the acknowledged commands failed
+   */
+  public static void sync() throws RuntimeException
+  {
+    if (sock == null)
+      return;
+    
+    send_frames();
+    
+    if (n_pending != 0) {
+      long failed = 0;
+      int nfailed = 0;
+      
+      for (int index = 0; index != n_pending; index += 1) {
+        read_frame();
+        if (buffer_in[0] == 0) {
+          if (nfailed++ == 0)
+            failed = pending_ids[index];
+        }
+      }
+      
+      n_pending = 0;
+      p_buffer_in = buffer_in_end;
+      
+      if (nfailed != 0)
+        throw new RuntimeException(cannot_be_done(failed) +
+                                   ((nfailed == 1) ? "" : " (" + nfailed + " failures)"));
+    }
+  }
+
+  /**
+   *  to measure the exchanges with BOUML : for each phase (see set_phase())
+   *  and each command the number of calls, the bytes sent and received
+   *  and an histogram of the round trip latencies
+   * 
+   *  The report is written in JSON in the given file by bye()
+   */
+  public static void set_stats(String filename)
+  {
+    UmlComStats.enable(filename);
+  }
+
+  /**
+   *  to attribute the next exchanges to the given phase of the plug-out
+   *  when the measures are enabled by set_stats(), returns the previous phase
+   *  to allow to restore it
+   * 
+   *  The property values and descriptions set during the previous phase
+   *  are sent to BOUML, see UmlBaseItem.flush()
+   */
+  public static String set_phase(String p)
+  {
+    UmlBaseItem.flush();
+    return (UmlComStats.enabled()) ? UmlComStats.set_phase(p) : null;
   }
 
   /**
@@ -108,6 +267,29 @@ class UmlCom {
    */
   public static void bye(int v)
   {
+    try {
+      UmlBaseItem.flush();
+    }
+    catch (RuntimeException e) {
+      trace(e.getMessage());
+    }
+    flush_trace();
+    if (pipelined) {
+      try {
+        set_pipelined(false);
+      }
+      catch (RuntimeException e) {
+        trace(e.getMessage());
+      }
+    }
+    if (UmlComStats.enabled()) {
+      try {
+        UmlComStats.write();
+      }
+      catch (IOException e) {
+        trace("cannot write the protocol statistics : " + e.getMessage());
+      }
+    }
     send_cmd(CmdFamily.miscGlobalCmd, MiscGlobalCmd._byeCmd, v, "");
   }
 
@@ -116,6 +298,14 @@ class UmlCom {
    */
   public static void close()
   {
+    if (record != null) {
+      try {
+        record.close();
+      }
+      catch (IOException e) {
+      }
+      record = null;
+    }
     try {
       os.close();
       is.close();
@@ -131,6 +321,11 @@ class UmlCom {
 
   private static Socket sock;
 
+  /**
+   *  where the exchanged frames are recorded, null if they are not
+   */
+  private static DataOutputStream record;
+
   private static DataInputStream is;
 
   private static DataOutputStream os;
@@ -143,44 +338,164 @@ class UmlCom {
 
   private static int buffer_in_end;
 
+  /**
+   *  the current frame during a start_decode() / end_decode()
+   */
+  private static byte[] decoded_buffer_in;
+
+  private static int decoded_p_buffer_in;
+
+  private static int decoded_buffer_in_end;
+
   private static byte[] buffer_out;
 
   private static int p_buffer_out;
 
   private static int buffer_out_size;
 
+  /**
+   *  offset in buffer_out of the length of the frame in construction,
+   *  the previous frames are complete and wait to be sent
+   */
+  private static int p_frame;
+
+  private static boolean pipelined;
+
+  /**
+   *  identifier of the item on which the last command was applied, 0 for
+   *  the global commands
+   */
+  private static long last_id;
+
+  /**
+   *  the items on which a command waits for its acknowledgement
+   */
+  private static long[] pending_ids;
+
+  private static int n_pending;
+
+  /**
+   *  limits the number of not read acknowledgements, BOUML stops to read
+   *  when the socket is full of answers
+   */
+  private static final int max_pending = 512;
+
+  /**
+   *  the memorized frames are sent when they reach this size
+   */
+  private static final int max_pipelined_out = 65536;
+
   private static byte id_size;
 
+  /**
+   *  see set_trace_delay()
+   */
+  private static int trace_delay = 200;
+
+  /**
+   *  the memorized traces, see trace()
+   */
+  private static StringBuffer trace_buffer;
+
+  /**
+   *  when the first memorized trace was given
+   */
+  private static long trace_since;
+
+  /**
+   *  the memorized traces are sent when they reach this length
+   */
+  private static final int max_trace_length = 8192;
+
+  /**
+   *  the last message not yet sent, see message()
+   */
+  private static String pending_message;
+
+  /**
+   *  when the last message was sent
+   */
+  private static long last_message;
+
   private static String empty_string;
 
-  static { empty_string = new String(); }  protected static void check_size_out(int len)
+  static { empty_string = new String(); }
+  /**
+   *  the strings are exchanged with BOUML in UTF-8
+   */
+  private static final Charset utf8 = Charset.forName("UTF-8");
+
+  /**
+   *  the last ASCII strings read by read_string(), indexed by their
+   *  hash code, to not create again and again the same short strings
+   *  (stereotypes, property names, namespaces ...)
+   */
+  private static final String[] interned = new String[4096];
+
+  /**
+   *  the strings longer than that are not interned
+   */
+  private static final int max_interned_length = 128;
+
+  protected static void check_size_out(int len)
   {
     if ((p_buffer_out + len) >= buffer_out_size) {
-      buffer_out_size = p_buffer_out + len + 1024;
+      int size = buffer_out_size * 2;
       
-      byte[] newbuff = new byte[buffer_out_size];
+      if (size <= (p_buffer_out + len))
+        size = p_buffer_out + len + 1024;
       
-      int index;
-  
-      for (index = 0; index != p_buffer_out; index += 1)
-        newbuff[index] = buffer_out[index];
+      byte[] newbuff = new byte[size];
       
+      System.arraycopy(buffer_out, 0, newbuff, 0, p_buffer_out);
       buffer_out = newbuff;
+      buffer_out_size = size;
     }
   }
 
   protected static void read_if_needed()
   {
     if (p_buffer_in == buffer_in_end) {
-      read_buffer(4);
-      //System.out.print("plug-out read ");System.out.println(((((int) buffer_in[0]) & 255) << 24) + ((((int) buffer_in[1]) & 255) <<16) + ((((int) buffer_in[2]) & 255) << 8) + (((int) buffer_in[3]) & 255));
-      read_buffer(((((int) buffer_in[0]) & 255) << 24) +
-  		((((int) buffer_in[1]) & 255) << 16) +
-  		((((int) buffer_in[2]) & 255) << 8) +
-  		(((int) buffer_in[3]) & 255));
+      // do not delay the traces because of a long exchange
+      if (((trace_buffer.length() != 0) &&
+           ((System.currentTimeMillis() - trace_since) >= trace_delay)) ||
+          ((pending_message != null) &&
+           ((System.currentTimeMillis() - last_message) >= trace_delay)))
+        flush_trace();
+      if (pipelined) {
+        try {
+          sync();
+        }
+        catch (RuntimeException e) {
+          // the answer of the current command is lost for the caller
+          read_frame();
+          p_buffer_in = buffer_in_end;
+          throw e;
+        }
+      }
+      read_frame();
     }
   }
 
+  /**
+   *  read the next frame sent by BOUML
+   */
+  protected static void read_frame()
+  {
+    read_buffer(4);
+    //System.out.print("plug-out read ");System.out.println(((((int) buffer_in[0]) & 255) << 24) + ((((int) buffer_in[1]) & 255) <<16) + ((((int) buffer_in[2]) & 255) << 8) + (((int) buffer_in[3]) & 255));
+    read_buffer(((((int) buffer_in[0]) & 255) << 24) +
+		((((int) buffer_in[1]) & 255) << 16) +
+		((((int) buffer_in[2]) & 255) << 8) +
+		(((int) buffer_in[3]) & 255));
+    
+    if (record != null)
+      record_chunk(UmlComReplay.chunk_in, buffer_in, buffer_in_end);
+    
+    if (UmlComStats.enabled())
+      UmlComStats.answer(buffer_in_end + 4);
+  }
+
   protected static void read_buffer(int len)
   {
     //cout << "enter UmlCom.read_buffer(" << len << ")\n";
@@ -197,7 +512,8 @@ class UmlCom {
     for (;;) {
       try {
         if ((nread = is.read(buffer_in, offset, remainder)) == -1)
-    	nread = 0;
+          // else loops forever
+          throw new RuntimeException("communication closed");
       }
       catch (Exception e) {
         throw new RuntimeException("communication closed");
@@ -269,17 +585,46 @@ class UmlCom {
       buffer_out[p_buffer_out++] = 0;
     }
     else {
-      byte[] pb = p.getBytes();
-      int index;
-    
-      check_size_out(pb.length + 1);
-      for (index = 0; index != pb.length; index += 1)
-        buffer_out[p_buffer_out + index] = pb[index];
-      buffer_out[p_buffer_out + index] = 0;
-      p_buffer_out += index + 1;
+      int n = p.length();
+      
+      // a char produces at most 3 bytes, a surrogate pair 4
+      check_size_out(3 * n + 1);
+      
+      byte[] b = buffer_out;
+      int o = p_buffer_out;
+      
+      for (int index = 0; index != n; index += 1) {
+        char c = p.charAt(index);
+        
+        if (c < 0x80)
+          b[o++] = (byte) c;
+        else if (c < 0x800) {
+          b[o++] = (byte) (0xc0 | (c >> 6));
+          b[o++] = (byte) (0x80 | (c & 0x3f));
+        }
+        else if ((c >= Character.MIN_SURROGATE) && (c <= Character.MAX_SURROGATE)) {
+          if (Character.isHighSurrogate(c) && ((index + 1) != n) &&
+              Character.isLowSurrogate(p.charAt(index + 1))) {
+            int cp = Character.toCodePoint(c, p.charAt(++index));
+            
+            b[o++] = (byte) (0xf0 | (cp >> 18));
+            b[o++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+            b[o++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+            b[o++] = (byte) (0x80 | (cp & 0x3f));
+          }
+          else
+            // malformed, as done by String.getBytes()
+            b[o++] = (byte) '?';
+        }
+        else {
+          b[o++] = (byte) (0xe0 | (c >> 12));
+          b[o++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+          b[o++] = (byte) (0x80 | (c & 0x3f));
+        }
+      }
+      b[o++] = 0;
+      p_buffer_out = o;
     }
-  
-    
   }
 
   /**
@@ -289,6 +634,7 @@ class UmlCom {
   {
     //System.out.print("UmlCom.send_cmd((CmdFamily) " ); System.out.print(f.value()); System.out.print(", "); System.out.print(cmd); System.out.println(")");
     
+    last_id = 0;
     write_char((byte) f.value());
     write_char((byte) cmd);
     flush();
@@ -301,6 +647,7 @@ class UmlCom {
   {
     //cout << "UmlCom::send_cmd((CmdFamily) " << f << ", " << cmd << ", " << ((s) ? s : "") << b << ")\n";
     
+    last_id = 0;
     write_char((byte) f.value());
     write_char((byte) cmd);
     write_string(s);
@@ -312,6 +659,7 @@ class UmlCom {
   {
     //cout << "UmlCom.send_cmd((CmdFamily) " << f << ", " << cmd << ", " << arg << ")\n";
     
+    last_id = 0;
     write_char((byte) f.value());
     write_char((byte) cmd);
     write_char(arg);
@@ -325,6 +673,7 @@ class UmlCom {
   {
     //cout << "UmlCom.send_cmd((CmdFamily) " << f << ", " << cmd << ", " << arg << ", dummy)\n";
     
+    last_id = 0;
     write_char((byte) f.value());
     write_char((byte) cmd);
     write_unsigned(arg);
@@ -335,6 +684,7 @@ class UmlCom {
   {
     //cout << "UmlCom.send_cmd((CmdFamily) " << f << ", " << cmd << ", " << id << ")\n";
     
+    last_id = 0;
     write_char((byte) f.value());
     write_char((byte) cmd);
     write_id(id);
@@ -345,6 +695,7 @@ class UmlCom {
   {
     //cout << "UmlCom.send_cmd((CmdFamily) " << f << ", " << cmd << ", " << s << ")\n";
     
+    last_id = 0;
     write_char((byte) f.value());
     write_char((byte) cmd);
     write_string(s);
@@ -355,6 +706,7 @@ class UmlCom {
   {
     //cout << "UmlCom.send_cmd((CmdFamily) " << f << ", " << cmd << ", " << id << ")\n";
     
+    last_id = 0;
     write_char((byte) f.value());
     write_char((byte) cmd);
     write_id(id);
@@ -366,6 +718,7 @@ class UmlCom {
   {
     //cout << "UmlCom.send_cmd((CmdFamily) " << f << ", " << cmd << ", " << s << ", " << v << ")\n";
     
+    last_id = 0;
     write_char((byte) f.value());
     write_char((byte) cmd);
     write_string(s);
@@ -377,6 +730,7 @@ class UmlCom {
   {
     //cout << "UmlCom.send_cmd((CmdFamily) " << f << ", " << cmd << ", " << b << ", " << s << ", " << v << ")\n";
     
+    last_id = 0;
     write_char((byte) f.value());
     write_char((byte) cmd);
     write_bool(b);
@@ -389,6 +743,7 @@ class UmlCom {
   {
     //System.out.print("UmlCom.send_cmd(id, "); System.out.print(cmd.value()); System.out.println(")");
     
+    last_id = id;
     write_char((byte) CmdFamily._onInstanceCmd);
     write_id(id);
     write_char((byte) cmd.value());
@@ -399,6 +754,7 @@ class UmlCom {
   {
     //cout << "UmlCom.send_cmd(id, " << cmd << ", " << arg << ")\n";
     
+    last_id = id;
     write_char((byte) CmdFamily._onInstanceCmd);
     write_id(id);
     write_char((byte) cmd.value());
@@ -410,6 +766,7 @@ class UmlCom {
   {
     //cout << "UmlCom.send_cmd(id, " << cmd << ", " << ((int) arg) << '\n';
     
+    last_id = id;
     write_char((byte) CmdFamily._onInstanceCmd);
     write_id(id);
     write_char((byte) cmd.value());
@@ -421,6 +778,7 @@ class UmlCom {
   {
     //cout << "UmlCom.send_cmd(id, " << cmd << ", " << arg << '\n';
     
+    last_id = id;
     write_char((byte) CmdFamily._onInstanceCmd);
     write_id(id);
     write_char((byte) cmd.value());
@@ -432,6 +790,7 @@ class UmlCom {
   {
     //cout << "UmlCom.send_cmd(id, " << cmd << ", UmlTypeSpec)\n";
     
+    last_id = id;
     write_char((byte) CmdFamily._onInstanceCmd);
     write_id(id);
     write_char((byte) cmd.value());
@@ -450,6 +809,7 @@ class UmlCom {
   {
     //cout << "UmlCom.send_cmd(id, " << cmd << ", " << arg1 << ", " << arg2 << ")\n";
     
+    last_id = id;
     write_char((byte) CmdFamily._onInstanceCmd);
     write_id(id);
     write_char((byte) cmd.value());
@@ -462,6 +822,7 @@ class UmlCom {
   {
     //cout << "UmlCom.send_cmd(id, " << cmd << ", " << arg1 << ", " << arg2 << ")\n";
     
+    last_id = id;
     write_char((byte) CmdFamily._onInstanceCmd);
     write_id(id);
     write_char((byte) cmd.value());
@@ -474,6 +835,7 @@ class UmlCom {
   {
     //cout << "UmlCom.send_cmd(id, " << cmd << ", " << arg1 << ", " << arg2 << ", " << id2 << ")\n";
     
+    last_id = id;
     write_char((byte) CmdFamily._onInstanceCmd);
     write_id(id);
     write_char((byte) cmd.value());
@@ -487,6 +849,7 @@ class UmlCom {
   {
     //cout << "UmlCom.send_cmd(id, " << cmd << ", id1)\n";
     
+    last_id = id;
     write_char((byte) CmdFamily._onInstanceCmd);
     write_id(id);
     write_char((byte) cmd.value());
@@ -498,6 +861,7 @@ class UmlCom {
   {
     //cout << "UmlCom.send_cmd(id, " << cmd << ", id1, " << arg2 << ")\n";
     
+    last_id = id;
     write_char((byte) CmdFamily._onInstanceCmd);
     write_id(id);
     write_char((byte) cmd.value());
@@ -510,6 +874,7 @@ class UmlCom {
   {
     //cout << "UmlCom.send_cmd(id, " << cmd << ", " << arg1 << ", UmlTypeSpec)\n";
     
+    last_id = id;
     write_char((byte) CmdFamily._onInstanceCmd);
     write_id(id);
     write_char((byte) cmd.value());
@@ -527,6 +892,7 @@ class UmlCom {
 
   public static void send_cmd(long id, OnInstanceCmd cmd, int arg1, String arg2, String arg3, UmlTypeSpec arg4, UmlTypeSpec arg5)
   {
+    last_id = id;
     write_char((byte) CmdFamily._onInstanceCmd);
     write_id(id);
     write_char((byte) cmd.value());
@@ -555,6 +921,7 @@ class UmlCom {
   {
     //cout << "UmlCom.send_cmd(id, " << cmd << ", " << arg1 << ", " << arg2 << ", " << arg3 << ", " << arg4 << ", UmlTypeSpec)\n";
     
+    last_id = id;
     write_char((byte) CmdFamily._onInstanceCmd);
     write_id(id);
     write_char((byte) cmd.value());
@@ -577,6 +944,7 @@ class UmlCom {
   {
     //cout << "UmlCom.send_cmd(id, " << cmd << ", const Q3PtrVector<UmlItem> & l)\n";
     
+    last_id = id;
     write_char((byte) CmdFamily._onInstanceCmd);
     write_id(id);
     write_char((byte) cmd.value());
@@ -598,6 +966,7 @@ class UmlCom {
   {
     //cout << "UmlCom.send_cmd(id, " << cmd << ", " << arg << ", " << id2 << ")\n";
     
+    last_id = id;
     write_char((byte) CmdFamily._onInstanceCmd);
     write_id(id);
     write_char((byte) cmd.value());
@@ -641,16 +1010,89 @@ class UmlCom {
     read_if_needed();
     
     //System.out.print("read_string offset ");System.out.println(p_buffer_in);  
+    byte[] b = buffer_in;
     int start = p_buffer_in;
+    int h = 0;
+    int bits = 0;
+    byte c;
     
-    while (buffer_in[p_buffer_in++] != 0)
-      ;
-  
-    if (p_buffer_in == (start + 1))
+    while ((c = b[p_buffer_in++]) != 0) {
+      h = 31 * h + c;
+      bits |= c;
+    }
+    
+    int len = p_buffer_in - start - 1;
+    
+    if (len == 0)
       return empty_string;
+    
+    if ((bits & 0x80) != 0)
+      return new String(b, start, len, utf8);
+    
+    if (len > max_interned_length)
+      return new String(b, start, len, utf8);
+    
+    // ASCII : h is the hash code of the string
+    int index = (h ^ (h >>> 12)) & (interned.length - 1);
+    String s = interned[index];
+    
+    if ((s != null) && (s.hashCode() == h) && (s.length() == len)) {
+      int i = 0;
       
-    return new String(buffer_in, start, p_buffer_in - start - 1);
-  
+      while ((i != len) && (s.charAt(i) == b[start + i]))
+        i += 1;
+      
+      if (i == len)
+        return s;
+    }
+    
+    s = new String(b, start, len, utf8);
+    interned[index] = s;
+    return s;
+  }
+
+  /**
+   *  internal, returns the not yet read part of the current frame
+   *  (null if empty) and skips it
+   */
+  static byte[] read_remainder()
+  {
+    int n = buffer_in_end - p_buffer_in;
+    
+    if (n <= 0)
+      return null;
+    
+    byte[] r = new byte[n];
+    
+    System.arraycopy(buffer_in, p_buffer_in, r, 0, n);
+    p_buffer_in = buffer_in_end;
+    return r;
+  }
+
+  /**
+   *  internal, the next read_xx() will decode the given bytes rather
+   *  than the current frame, until end_decode() is called
+   */
+  static void start_decode(byte[] b)
+  {
+    decoded_buffer_in = buffer_in;
+    decoded_p_buffer_in = p_buffer_in;
+    decoded_buffer_in_end = buffer_in_end;
+    
+    buffer_in = b;
+    p_buffer_in = 0;
+    buffer_in_end = b.length;
+  }
+
+  /**
+   *  internal, see start_decode()
+   */
+  static void end_decode()
+  {
+    buffer_in = decoded_buffer_in;
+    p_buffer_in = decoded_p_buffer_in;
+    buffer_in_end = decoded_buffer_in_end;
+    decoded_buffer_in = null;
   }
 
   public static boolean read_bool()
@@ -709,17 +1151,40 @@ class UmlCom {
   public static void flush()
   {
     if (sock != null) {
-      int len = p_buffer_out - 4;
-      /* the four first bytes of buffer_out are free to contains the length */
-      buffer_out[0] = (byte) (len >> 24);
-      buffer_out[1] = (byte) (len >> 16);
-      buffer_out[2] = (byte) (len >> 8);
-      buffer_out[3] = (byte) len;
+      int len = p_buffer_out - p_frame - 4;
+      /* the four bytes at p_frame are free to contains the length */
+      buffer_out[p_frame] = (byte) (len >> 24);
+      buffer_out[p_frame+1] = (byte) (len >> 16);
+      buffer_out[p_frame+2] = (byte) (len >> 8);
+      buffer_out[p_frame+3] = (byte) len;
+      
+      if (UmlComStats.enabled())
+        UmlComStats.command(buffer_out, p_frame + 4, len + 4, (id_size == (byte) 8) ? 8 : 4);
+      
+      check_size_out(4);
+      p_frame = p_buffer_out;
+      p_buffer_out += 4/*bytes for length*/;
   
+      if (!pipelined || (p_frame >= max_pipelined_out))
+        send_frames();
+    }
+  }
+
+  /**
+   *  send the complete frames
+   */
+  protected static void send_frames()
+  {
+    if (p_frame != 0) {
       try {
-        //System.out.print("plug-out send "); System.out.println(p_buffer_out);
-        os.write(buffer_out, 0, p_buffer_out);
+        //System.out.print("plug-out send "); System.out.println(p_frame);
+        os.write(buffer_out, 0, p_frame);
         os.flush();
+        if (record != null)
+          record_chunk(UmlComReplay.chunk_out, buffer_out, p_frame);
+        if (UmlComStats.enabled())
+          UmlComStats.frames_sent();
+        p_frame = 0;
         p_buffer_out = 4/*bytes for length*/;
       }
       catch (IOException e) {
@@ -729,10 +1194,81 @@ class UmlCom {
     }
   }
 
+  /**
+   *  add a chunk to the recording, stop to record on error
+   */
+  private static void record_chunk(byte kind, byte[] b, int len)
+  {
+    try {
+      record.writeByte(kind);
+      record.writeInt(len);
+      record.write(b, 0, len);
+    }
+    catch (IOException e) {
+      try {
+        record.close();
+      }
+      catch (IOException e2) {
+      }
+      record = null;
+      trace("recording stopped : " + e.getMessage());
+    }
+  }
+
+  /**
+   *  return FALSE if BOUML does not answer to the given command
+   */
+  static boolean has_answer(int family, int cmd)
+  {
+    return (family != CmdFamily._miscGlobalCmd) ||
+      ((cmd != MiscGlobalCmd._byeCmd) &&
+       (cmd != MiscGlobalCmd._traceCmd) &&
+       (cmd != MiscGlobalCmd._messageCmd) &&
+       (cmd != MiscGlobalCmd._showTraceCmd) &&
+       (cmd != MiscGlobalCmd._traceAutoRaiseCmd));
+  }
+
   public static void check()
   {
-    if (! read_bool())
-      throw new RuntimeException("Cannot be done");
+    if (pipelined) {
+      pending_ids[n_pending++] = last_id;
+      if (n_pending == max_pending)
+        sync();
+    }
+    else {
+      // read_bool may flush the traces, which resets last_id
+      long id = last_id;
+      
+      if (! read_bool())
+        throw new RuntimeException(cannot_be_done(id));
+    }
+  }
+
+  /**
+   *  send the memorized traces and the last message
+   */
+  protected static void flush_trace()
+  {
+    if (trace_buffer.length() != 0) {
+      String s = trace_buffer.toString();
+      
+      trace_buffer.setLength(0);
+      send_cmd(CmdFamily.miscGlobalCmd, MiscGlobalCmd._traceCmd, s);
+    }
+    if (pending_message != null) {
+      String s = pending_message;
+      
+      pending_message = null;
+      last_message = System.currentTimeMillis();
+      send_cmd(CmdFamily.miscGlobalCmd, MiscGlobalCmd._messageCmd, s);
+    }
+  }
+
+  private static String cannot_be_done(long id)
+  {
+    return (id == 0)
+      ? "Cannot be done"
+      : "Cannot be done on item " + id;
   }
 
 };
@@ -0,0 +1,295 @@
+import java.io.*;
+import java.net.*;
+import java.util.*;
+
+/**
+ *  Stand-in for BOUML answering to a plug-out from a recording made by
+ *  UmlCom (see UmlCom.connect()), allowing to run the plug-out without
+ *  BOUML nor GUI, for instance to measure it.
+ *
+ *  The answers are found from the commands themselves rather than from
+ *  their position in the recording, so a run doing less commands than the
+ *  recorded one (because of a cache ...) can be replayed. A command
+ *  recorded several times gets the recorded answers in the same order,
+ *  the last one being repeated if it is asked more. A command never
+ *  recorded stops the replay.
+ *
+ *  usage : java UmlComReplay <recording> <plug-out arguments>
+ *    runs Main with the arguments followed by the port of the replay
+ *  or : java UmlComReplay <recording> -port <port>
+ *    only waits for a plug-out on the given port
+ */
+final class UmlComReplay {
+  static final String magic = "BOUMLREC";
+
+  static final int version = 1;
+
+  /**
+   *  a chunk of frames sent by the plug-out, including their length
+   */
+  static final byte chunk_out = (byte) 'O';
+
+  /**
+   *  a frame sent by BOUML, without its length
+   */
+  static final byte chunk_in = (byte) 'I';
+
+  /**
+   *  create a recording, called by UmlCom.connect()
+   */
+  static DataOutputStream start_recording(String filename) throws IOException
+  {
+    DataOutputStream r =
+      new DataOutputStream(new BufferedOutputStream(new FileOutputStream(filename), 65536));
+
+    r.writeBytes(magic);
+    r.writeInt(version);
+    return r;
+  }
+
+  public static void main(String argv[])
+  {
+    if (argv.length < 1) {
+      System.err.println("usage : UmlComReplay <recording> (<plug-out arguments> | -port <port>)");
+      System.exit(1);
+    }
+
+    try {
+      final UmlComReplay replay = new UmlComReplay(argv[0]);
+
+      if ((argv.length == 3) && argv[1].equals("-port")) {
+        ServerSocket ss = new ServerSocket(Integer.parseInt(argv[2]), 1, InetAddress.getByName("127.0.0.1"));
+
+        replay.serve(ss);
+        replay.report();
+      }
+      else {
+        final ServerSocket ss = new ServerSocket(0, 1, InetAddress.getByName("127.0.0.1"));
+        String[] args = new String[argv.length];
+
+        System.arraycopy(argv, 1, args, 0, argv.length - 1);
+        args[argv.length - 1] = String.valueOf(ss.getLocalPort());
+
+        final Thread t = new Thread() {
+          public void run() {
+            try {
+              replay.serve(ss);
+            }
+            catch (IOException e) {
+              System.err.println("replay : " + e.getMessage());
+            }
+          }
+        };
+
+        t.start();
+        // Main exits at the end
+        Runtime.getRuntime().addShutdownHook(new Thread() {
+          public void run() {
+            try {
+              t.join(1000);
+            }
+            catch (InterruptedException e) {
+            }
+            replay.report();
+          }
+        });
+        Main.main(args);
+      }
+    }
+    catch (IOException e) {
+      System.err.println("replay : " + e.getMessage());
+      System.exit(1);
+    }
+  }
+
+  /**
+   *  read the recording
+   */
+  UmlComReplay(String filename) throws IOException
+  {
+    DataInputStream in =
+      new DataInputStream(new BufferedInputStream(new FileInputStream(filename), 65536));
+
+    try {
+      byte[] m = new byte[magic.length()];
+
+      in.readFully(m);
+      if (!new String(m, "ISO-8859-1").equals(magic))
+        throw new IOException(filename + " is not a recording");
+      if (in.readInt() != version)
+        throw new IOException(filename + " : unsupported version");
+
+      // the commands whose answer is not yet read
+      LinkedList<String> waiting = new LinkedList<String>();
+      boolean first = true;
+      int kind;
+
+      while ((kind = in.read()) != -1) {
+        byte[] b = new byte[in.readInt()];
+
+        in.readFully(b);
+
+        if (kind == chunk_out) {
+          int offset = 0;
+
+          while (offset != b.length) {
+            int len = ((b[offset] & 255) << 24) + ((b[offset + 1] & 255) << 16) +
+              ((b[offset + 2] & 255) << 8) + (b[offset + 3] & 255);
+            String cmd = new String(b, offset + 4, len, "ISO-8859-1");
+
+            // the first frame is the API version
+            if (!first && has_answer(cmd))
+              waiting.addLast(cmd);
+            first = false;
+            offset += len + 4;
+          }
+        }
+        else if (kind == chunk_in) {
+          if (waiting.isEmpty())
+            throw new IOException(filename + " : answer without command");
+
+          String cmd = waiting.removeFirst();
+          Answers a = answers.get(cmd);
+
+          if (a == null) {
+            a = new Answers();
+            answers.put(cmd, a);
+          }
+          a.frames.add(b);
+        }
+        else
+          throw new IOException(filename + " : corrupted");
+      }
+    }
+    finally {
+      in.close();
+    }
+  }
+
+  /**
+   *  answer to a plug-out until it says bye or closes the connexion
+   */
+  void serve(ServerSocket ss) throws IOException
+  {
+    Socket sock = ss.accept();
+
+    ss.close();
+    start = System.currentTimeMillis();
+
+    DataInputStream is = new DataInputStream(new BufferedInputStream(sock.getInputStream(), 65536));
+    DataOutputStream os = new DataOutputStream(new BufferedOutputStream(sock.getOutputStream(), 65536));
+    boolean first = true;
+
+    try {
+      for (;;) {
+        int len;
+
+        try {
+          len = is.readInt();
+        }
+        catch (EOFException e) {
+          break;
+        }
+
+        byte[] b = new byte[len];
+
+        is.readFully(b);
+        commands += 1;
+
+        String cmd = new String(b, "ISO-8859-1");
+
+        if (first) {
+          // API version
+          first = false;
+          continue;
+        }
+
+        if (!has_answer(cmd)) {
+          if (((b[0] & 255) == CmdFamily._miscGlobalCmd) &&
+              ((b[1] & 255) == MiscGlobalCmd._byeCmd))
+            break;
+          continue;
+        }
+
+        Answers a = answers.get(cmd);
+
+        if (a == null) {
+          unknown = describe(b);
+          break;
+        }
+
+        byte[] r = a.frames.get(a.next);
+
+        if (a.next != (a.frames.size() - 1))
+          a.next += 1;
+
+        os.writeInt(r.length);
+        os.write(r);
+        answered += 1;
+
+        // the plug-out may wait for the answer
+        if (is.available() == 0)
+          os.flush();
+      }
+      os.flush();
+    }
+    finally {
+      stop = System.currentTimeMillis();
+      sock.close();
+    }
+  }
+
+  /**
+   *  write the summary of the replay on the error output
+   */
+  void report()
+  {
+    System.err.println("replay : " + commands + " commands received, " +
+                       answered + " answered in " + (stop - start) + " ms");
+    if (unknown != null)
+      System.err.println("replay : stopped on a command not recorded " + unknown);
+  }
+
+  private static boolean has_answer(String cmd)
+  {
+    return UmlCom.has_answer(cmd.charAt(0), (cmd.length() > 1) ? cmd.charAt(1) : 0);
+  }
+
+  private static String describe(byte[] b)
+  {
+    StringBuffer s = new StringBuffer();
+    int n = Math.min(b.length, 16);
+
+    for (int i = 0; i != n; i += 1)
+      s.append(' ').append(b[i] & 255);
+
+    return "[" + s.toString().substring(1) + ((n != b.length) ? " ...]" : "]");
+  }
+
+  /**
+   *  the answers recorded for a command
+   */
+  private static final class Answers {
+    ArrayList<byte[]> frames = new ArrayList<byte[]>();
+
+    int next;
+
+  }
+
+  /**
+   *  the answers indexed by the commands (a frame in ISO-8859-1 is a String
+   *  having a char per byte)
+   */
+  private HashMap<String, Answers> answers = new HashMap<String, Answers>();
+
+  private long commands;
+
+  private long answered;
+
+  private String unknown;
+
+  private long start;
+
+  private long stop;
+
+}
@@ -0,0 +1,371 @@
+import java.io.*;
+import java.lang.reflect.*;
+import java.util.*;
+
+/**
+ *  Internal class measuring the exchanges with BOUML, see UmlCom.set_stats()
+ *
+ *  For each phase (see UmlCom.set_phase()) and each command memorize the
+ *  number of calls, the bytes sent and received and an histogram of the
+ *  round trip latencies, the bucket i counting the latencies between
+ *  2^(i-1) and 2^i micro seconds.
+ *
+ *  The answer of a command is the first frame read after the answers of
+ *  the previous commands, the commands without answer (trace, message ...)
+ *  are not waited for. In pipelined mode the latency is measured from the
+ *  moment the command is really sent.
+ */
+final class UmlComStats {
+  /**
+   *  the measures of a command during a phase
+   */
+  static final class Entry {
+    long calls;
+
+    long bytes_out;
+
+    long answers;
+
+    long bytes_in;
+
+    /**
+     *  nano seconds
+     */
+    long total_latency;
+
+    long max_latency;
+
+    long[] histogram = new long[32];
+
+  }
+
+  /**
+   *  start to measure, the report will be written in the given file
+   */
+  static void enable(String f)
+  {
+    filename = f;
+    phases = new LinkedHashMap<String, HashMap<Integer, Entry>>();
+    waiting = new Entry[64];
+    sent_at = new long[64];
+    n_waiting = 0;
+    n_unsent = 0;
+    phase = null;
+    set_phase("");
+  }
+
+  static boolean enabled()
+  {
+    return filename != null;
+  }
+
+  /**
+   *  set the current phase, return the previous one
+   */
+  static String set_phase(String p)
+  {
+    String previous = phase;
+
+    if (p == null)
+      p = "";
+
+    phase = p;
+    current = phases.get(p);
+
+    if (current == null) {
+      current = new HashMap<Integer, Entry>();
+      phases.put(p, current);
+    }
+
+    return previous;
+  }
+
+  /**
+   *  a frame is complete in b, its body starts at offset,
+   *  len is the size of the frame including its length
+   */
+  static void command(byte[] b, int offset, int len, int id_size)
+  {
+    int family = ((int) b[offset]) & 255;
+    int cmd = (family == CmdFamily._onInstanceCmd)
+      ? ((int) b[offset + 1 + id_size]) & 255
+      : ((int) b[offset + 1]) & 255;
+    Entry e = entry((family << 8) | cmd);
+
+    e.calls += 1;
+    e.bytes_out += len;
+
+    if (! UmlCom.has_answer(family, cmd))
+      return;
+
+    if (n_waiting == waiting.length) {
+      Entry[] w = new Entry[2 * n_waiting];
+      long[] t = new long[2 * n_waiting];
+
+      System.arraycopy(waiting, 0, w, 0, n_waiting);
+      System.arraycopy(sent_at, 0, t, 0, n_waiting);
+      waiting = w;
+      sent_at = t;
+    }
+
+    waiting[n_waiting++] = e;
+    n_unsent += 1;
+  }
+
+  /**
+   *  the complete frames are sent
+   */
+  static void frames_sent()
+  {
+    long now = System.nanoTime();
+
+    while (n_unsent != 0)
+      sent_at[n_waiting - n_unsent--] = now;
+  }
+
+  /**
+   *  a frame is read, len is its size including its length
+   */
+  static void answer(int len)
+  {
+    long now = System.nanoTime();
+    Entry e;
+    long latency;
+
+    if ((n_waiting - n_unsent) == 0) {
+      // not asked when the measures are done
+      e = entry(-1);
+      latency = -1;
+    }
+    else {
+      e = waiting[0];
+      latency = now - sent_at[0];
+      n_waiting -= 1;
+      System.arraycopy(waiting, 1, waiting, 0, n_waiting);
+      System.arraycopy(sent_at, 1, sent_at, 0, n_waiting);
+    }
+
+    e.answers += 1;
+    e.bytes_in += len;
+
+    if (latency >= 0) {
+      long us = latency / 1000;
+      int bucket = 0;
+
+      while ((us != 0) && (bucket != 31)) {
+        us >>= 1;
+        bucket += 1;
+      }
+      e.histogram[bucket] += 1;
+      e.total_latency += latency;
+      if (latency > e.max_latency)
+        e.max_latency = latency;
+    }
+  }
+
+  /**
+   *  write the report in JSON and stop to measure
+   */
+  static void write() throws IOException
+  {
+    if (filename == null)
+      return;
+
+    String f = filename;
+
+    filename = null;
+
+    String[][] names = command_names();
+    PrintWriter pw = new PrintWriter(new OutputStreamWriter(new FileOutputStream(f), "UTF-8"));
+
+    try {
+      pw.println("{");
+      pw.println("  \"phases\": [");
+
+      // the phases without exchange are not reported
+      Iterator<HashMap<Integer, Entry>> itc = phases.values().iterator();
+
+      while (itc.hasNext())
+        if (itc.next().isEmpty())
+          itc.remove();
+
+      Iterator<Map.Entry<String, HashMap<Integer, Entry>>> itph = phases.entrySet().iterator();
+
+      while (itph.hasNext()) {
+        Map.Entry<String, HashMap<Integer, Entry>> ph = itph.next();
+        TreeMap<Integer, Entry> cmds = new TreeMap<Integer, Entry>(ph.getValue());
+        long calls = 0;
+        long bytes_out = 0;
+        long bytes_in = 0;
+        long total_latency = 0;
+        Iterator<Entry> ite = cmds.values().iterator();
+
+        while (ite.hasNext()) {
+          Entry e = ite.next();
+
+          calls += e.calls;
+          bytes_out += e.bytes_out;
+          bytes_in += e.bytes_in;
+          total_latency += e.total_latency;
+        }
+
+        pw.println("    {");
+        pw.println("      \"phase\": " + quote(ph.getKey()) + ",");
+        pw.println("      \"calls\": " + calls + ",");
+        pw.println("      \"bytesOut\": " + bytes_out + ",");
+        pw.println("      \"bytesIn\": " + bytes_in + ",");
+        pw.println("      \"totalLatencyMicros\": " + (total_latency / 1000) + ",");
+        pw.println("      \"commands\": [");
+
+        Iterator<Map.Entry<Integer, Entry>> it = cmds.entrySet().iterator();
+
+        while (it.hasNext()) {
+          Map.Entry<Integer, Entry> c = it.next();
+          int key = c.getKey().intValue();
+          Entry e = c.getValue();
+
+          pw.print("        { \"family\": " + quote(name(names, key, true)) +
+                   ", \"command\": " + quote(name(names, key, false)) +
+                   ", \"calls\": " + e.calls +
+                   ", \"bytesOut\": " + e.bytes_out +
+                   ", \"answers\": " + e.answers +
+                   ", \"bytesIn\": " + e.bytes_in +
+                   ", \"totalLatencyMicros\": " + (e.total_latency / 1000) +
+                   ", \"maxLatencyMicros\": " + (e.max_latency / 1000) +
+                   ", \"latencyHistogramMicros\": {");
+
+          String sep = "";
+
+          for (int i = 0; i != 32; i += 1) {
+            if (e.histogram[i] != 0) {
+              pw.print(sep + "\"<" + (1L << i) + "\": " + e.histogram[i]);
+              sep = ", ";
+            }
+          }
+          pw.println((it.hasNext()) ? "} }," : "} }");
+        }
+
+        pw.println("      ]");
+        pw.println((itph.hasNext()) ? "    }," : "    }");
+      }
+
+      pw.println("  ]");
+      pw.println("}");
+    }
+    finally {
+      pw.close();
+    }
+  }
+
+  private static Entry entry(int key)
+  {
+    Integer k = Integer.valueOf(key);
+    Entry e = current.get(k);
+
+    if (e == null) {
+      e = new Entry();
+      current.put(k, e);
+    }
+
+    return e;
+  }
+
+  /**
+   *  the names of the families then of their commands,
+   *  got from the constants _xxxCmd
+   */
+  private static String[][] command_names()
+  {
+    Class<?>[] families = {
+      OnInstanceCmd.class, ClassGlobalCmd.class, PackageGlobalCmd.class,
+      MiscGlobalCmd.class, UmlSettingsCmd.class, CppSettingsCmd.class,
+      JavaSettingsCmd.class, IdlSettingsCmd.class, PhpSettingsCmd.class,
+      PythonSettingsCmd.class, MysqlSettingsCmd.class
+    };
+    String[][] names = new String[families.length + 1][];
+
+    names[0] = constant_names(CmdFamily.class);
+    for (int i = 0; i != families.length; i += 1)
+      names[i + 1] = constant_names(families[i]);
+
+    return names;
+  }
+
+  private static String[] constant_names(Class<?> c)
+  {
+    String[] r = new String[256];
+    Field[] fields = c.getDeclaredFields();
+
+    for (int i = 0; i != fields.length; i += 1) {
+      Field f = fields[i];
+
+      if ((f.getType() == int.class) &&
+          Modifier.isStatic(f.getModifiers()) &&
+          f.getName().startsWith("_")) {
+        try {
+          int v = f.getInt(null);
+
+          if ((v >= 0) && (v < 256))
+            r[v] = f.getName().substring(1);
+        }
+        catch (IllegalAccessException e) {
+        }
+      }
+    }
+
+    return r;
+  }
+
+  private static String name(String[][] names, int key, boolean family)
+  {
+    if (key == -1)
+      return "unknown";
+
+    int f = key >> 8;
+    int v = (family) ? f : (key & 255);
+    String[] l = (family) ? names[0] : ((f + 1 < names.length) ? names[f + 1] : null);
+
+    return ((l != null) && (l[v] != null)) ? l[v] : String.valueOf(v);
+  }
+
+  private static String quote(String s)
+  {
+    StringBuffer r = new StringBuffer("\"");
+
+    for (int i = 0; i != s.length(); i += 1) {
+      char c = s.charAt(i);
+
+      if ((c == '"') || (c == '\\'))
+        r.append('\\').append(c);
+      else if (c < ' ')
+        r.append(' ');
+      else
+        r.append(c);
+    }
+
+    return r.append('"').toString();
+  }
+
+  private static String filename;
+
+  private static String phase;
+
+  private static LinkedHashMap<String, HashMap<Integer, Entry>> phases;
+
+  private static HashMap<Integer, Entry> current;
+
+  /**
+   *  the commands whose answer is not yet read, in the order they were sent
+   */
+  private static Entry[] waiting;
+
+  private static long[] sent_at;
+
+  private static int n_waiting;
+
+  /**
+   *  the last waiting commands still in the output buffer
+   */
+  private static int n_unsent;
+
+}
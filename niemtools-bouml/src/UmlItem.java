@@ -234,6 +234,9 @@ abstract class UmlItem extends UmlBaseItem implements Comparable {
 
 	@SuppressWarnings("unchecked")
 	public void memo_ref() {
+		// read the whole sub tree in bursts rather than item per item
+		if (!children_read_())
+			prefetch(this, Integer.MAX_VALUE);
 		all.addElement(this);
 		known = true;
 
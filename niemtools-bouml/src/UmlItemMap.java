@@ -0,0 +1,222 @@
+import java.lang.ref.*;
+
+/**
+ *  Internal class associating the items to their identifier, used
+ *  to have only one instance per item.
+ *
+ *  An open addressing table with linear probing whose keys are
+ *  the identifiers themselves rather than Long, not synchronized.
+ *
+ *  In weak mode the items are referenced through WeakReference, an
+ *  item unloaded and no longer used by the plug-out can be garbaged,
+ *  a new instance will be created if it is read again from BOUML.
+ */
+final class UmlItemMap {
+  /**
+   *  'expected' is the number of items which can be memorized
+   *  without growing the table
+   */
+  UmlItemMap(int expected, boolean weak) {
+    int capacity = 16;
+
+    // load factor of 2/3
+    while ((capacity * 2) < (expected * 3))
+      capacity <<= 1;
+
+    _keys = new long[capacity];
+    _values = new Object[capacity];
+    _weak = weak;
+    _queue = (weak) ? new ReferenceQueue<UmlItem>() : null;
+  }
+
+  /**
+   *  returns the number of memorized items, in weak mode some may be garbaged
+   */
+  int size() {
+    return _size;
+  }
+
+  boolean weak() {
+    return _weak;
+  }
+
+  /**
+   *  returns the item having the identifier 'id', null if unknown
+   */
+  UmlItem get(long id) {
+    int mask = _keys.length - 1;
+
+    for (int i = hash(id) & mask; ; i = (i + 1) & mask) {
+      Object v = _values[i];
+
+      if (v == null)
+        return null;
+
+      if (_keys[i] == id)
+        return (_weak) ? ((Ref) v).get() : (UmlItem) v;
+    }
+  }
+
+  /**
+   *  memorize the item having the identifier 'id', replacing the previous one
+   */
+  void put(long id, UmlItem item) {
+    if (_weak)
+      purge();
+
+    if ((_size + 1) * 3 > _keys.length * 2)
+      resize(_keys.length * 2);
+
+    Object v = (_weak) ? (Object) new Ref(id, item, _queue) : (Object) item;
+    int mask = _keys.length - 1;
+    int i;
+
+    for (i = hash(id) & mask; _values[i] != null; i = (i + 1) & mask) {
+      if (_keys[i] == id) {
+        _values[i] = v;
+        return;
+      }
+    }
+
+    _keys[i] = id;
+    _values[i] = v;
+    _size += 1;
+  }
+
+  /**
+   *  forget the item having the identifier 'id'
+   */
+  void remove(long id) {
+    int mask = _keys.length - 1;
+
+    for (int i = hash(id) & mask; _values[i] != null; i = (i + 1) & mask) {
+      if (_keys[i] == id) {
+        delete(i);
+        return;
+      }
+    }
+  }
+
+  /**
+   *  returns a copy of the table, possibly changing its mode
+   *  and its capacity, the garbaged items are not copied
+   */
+  UmlItemMap copy(int expected, boolean weak) {
+    UmlItemMap r = new UmlItemMap(Math.max(expected, _size), weak);
+
+    for (int i = 0; i != _values.length; i += 1) {
+      Object v = _values[i];
+
+      if (v != null) {
+        UmlItem item = (_weak) ? ((Ref) v).get() : (UmlItem) v;
+
+        if (item != null)
+          r.put(_keys[i], item);
+      }
+    }
+
+    return r;
+  }
+
+  /**
+   *  remove the entry at 'i', moving back the following entries
+   *  of the same cluster to not break their probe sequence
+   */
+  private void delete(int i) {
+    int mask = _keys.length - 1;
+    int j = i;
+
+    _values[i] = null;
+    _size -= 1;
+
+    for (;;) {
+      j = (j + 1) & mask;
+
+      if (_values[j] == null)
+        return;
+
+      int home = hash(_keys[j]) & mask;
+
+      // move the entry at j to i if its home is not in ]i, j]
+      if ((i <= j) ? ((home <= i) || (home > j)) : ((home <= i) && (home > j))) {
+        _keys[i] = _keys[j];
+        _values[i] = _values[j];
+        _values[j] = null;
+        i = j;
+      }
+    }
+  }
+
+  private void resize(int capacity) {
+    long[] keys = _keys;
+    Object[] values = _values;
+    int mask = capacity - 1;
+
+    _keys = new long[capacity];
+    _values = new Object[capacity];
+
+    for (int index = 0; index != keys.length; index += 1) {
+      if (values[index] != null) {
+        int i = hash(keys[index]) & mask;
+
+        while (_values[i] != null)
+          i = (i + 1) & mask;
+
+        _keys[i] = keys[index];
+        _values[i] = values[index];
+      }
+    }
+  }
+
+  /**
+   *  remove the entries whose item was garbaged
+   */
+  private void purge() {
+    Ref r;
+
+    while ((r = (Ref) _queue.poll()) != null) {
+      int mask = _keys.length - 1;
+
+      for (int i = hash(r.id) & mask; _values[i] != null; i = (i + 1) & mask) {
+        if (_values[i] == r) {
+          delete(i);
+          break;
+        }
+      }
+    }
+  }
+
+  private static int hash(long id) {
+    long h = id * 0x9E3779B97F4A7C15L;
+
+    return (int) (h ^ (h >>> 32));
+  }
+
+  /**
+   *  the reference to an item in weak mode, knowing the identifier
+   *  to remove the entry when the item is garbaged
+   */
+  private static final class Ref extends WeakReference<UmlItem> {
+    Ref(long id, UmlItem item, ReferenceQueue<UmlItem> q) {
+      super(item, q);
+      this.id = id;
+    }
+
+    final long id;
+
+  }
+
+  private long[] _keys;
+
+  /**
+   *  the items, or their Ref in weak mode, null for a free entry
+   */
+  private Object[] _values;
+
+  private int _size;
+
+  private boolean _weak;
+
+  private ReferenceQueue<UmlItem> _queue;
+
+}
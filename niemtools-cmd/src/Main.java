@@ -64,8 +64,9 @@ public class Main
 			// a directory through a dialog, and the dialog
 			// is very slow and ugly
 			JFileChooser fc = new JFileChooser(niemDir);
-			fc.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
-			fc.setDialogTitle("Directory of the schema to be imported");
+			fc.setFileSelectionMode(JFileChooser.FILES_AND_DIRECTORIES);
+			fc.setFileFilter(new FileNameExtensionFilter("ZIP archive", "zip"));
+			fc.setDialogTitle("Directory or ZIP archive of the schema to be imported");
 			if (fc.showOpenDialog(frame) != JFileChooser.APPROVE_OPTION)
 				return;
 			String directory = fc.getSelectedFile().getAbsolutePath();
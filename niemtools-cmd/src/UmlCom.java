@@ -18,4 +18,10 @@ public class UmlCom {
 	{
 		System.out.println(s);
 	}
+
+	// there is no exchange to measure
+	public static String set_phase(String p)
+	{
+		return null;
+	}
 }
@@ -46,10 +46,21 @@ public class UmlItem implements Comparable {
 			return (UmlItem[]) children.toArray(new UmlItem[children.size()]);
 	}
 
+	public int childrenCount()
+	{
+		return (children == null) ? 0 : children.size();
+	}
+
+	public UmlItem childAt(int rank)
+	{
+		return children.get(rank);
+	}
+
 	public void deleteIt() throws RuntimeException {
 		    //UmlCom.send_cmd(identifier_(), OnInstanceCmd.deleteCmd);
 		    //UmlCom.check();
-		    parent().unload(true, false);
+		    if (_parent != null)
+		    	_parent.children.remove(this);
 		    _defined = false;
 	 }
 	  
@@ -69,6 +80,16 @@ public class UmlItem implements Comparable {
 	}
 	
 	public boolean defined_() { return _defined; }
+
+	public boolean children_read_() { return true; }
+
+	// the items are not persistent, they cannot be found again from an identifier
+	public long identifier_() { return 0; }
+
+	public static UmlItem from_id_(long id, anItemKind kind, String name) { return null; }
+
+	// everything is already in memory
+	public static void prefetch(UmlItem root, int depth) {}
 	
 	public UmlItem create_(anItemKind k, String s)
 	{
@@ -17,6 +17,7 @@ public class UmlRelation extends UmlBaseRelation {
 
 	public UmlRelation(UmlItem p, String n) {
 		// super(p,anItemKind.aRelation,n);
+		_parent = p;
 		kind = anItemKind.aRelation;
 		_role_name = "Generalisation";
 	}
@@ -0,0 +1,136 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// enumerated values of a code type or element with their optional definitions
+//
+// the code list is memorized in BOUML as a codeList property "value=definition; value; ...", it is kept
+// parsed here since the same codes (countries, states...) are found in many code lists, the values and
+// definitions are interned
+//
+// a value may itself contain the definition delimiter, the codes are then also kept as written in the
+// property and exported whole where the definitions are not used
+public class CodeList {
+
+	public static final String DELIMITER = ";";
+	public static final String DEFINITION_DELIMITER = "=";
+
+	private static Map<String, String> strings = new HashMap<String, String>();
+
+	private final String[] codes;
+	private final String[] values;
+	private final String[] definitions;
+
+	private CodeList(List<String> codes2, List<String> values2, List<String> definitions2)
+	{
+		codes = codes2.toArray(new String[codes2.size()]);
+		values = values2.toArray(new String[values2.size()]);
+		definitions = definitions2.toArray(new String[definitions2.size()]);
+	}
+
+	// gather the values of a code list
+	public static class Builder {
+		private List<String> codes = new ArrayList<String>();
+		private List<String> values = new ArrayList<String>();
+		private List<String> definitions = new ArrayList<String>();
+
+		public Builder add(String value, String definition)
+		{
+			if (definition == null || definition.equals(""))
+				return add(value, value, null);
+			return add(value + DEFINITION_DELIMITER + definition, value, definition);
+		}
+
+		public Builder add(String value)
+		{
+			return add(value, null);
+		}
+
+		private Builder add(String code, String value, String definition)
+		{
+			codes.add(intern(code));
+			values.add(intern(value));
+			definitions.add((definition == null || definition.equals("")) ? null : intern(definition));
+			return this;
+		}
+
+		public CodeList build()
+		{
+			return new CodeList(codes, values, definitions);
+		}
+	}
+
+	// parse a codeList property in one pass, empty codes are skipped
+	public static CodeList parse(String property)
+	{
+		Builder builder = new Builder();
+		if (property == null)
+			return builder.build();
+		int start = 0;
+		while (start < property.length()) {
+			int end = property.indexOf(DELIMITER, start);
+			if (end < 0)
+				end = property.length();
+			String code = property.substring(start, end).trim();
+			if (!code.equals("")) {
+				int def = code.indexOf(DEFINITION_DELIMITER);
+				if (def < 0)
+					builder.add(code, code, null);
+				else
+					builder.add(code, code.substring(0, def).trim(),
+							code.substring(def + DEFINITION_DELIMITER.length()).trim());
+			}
+			start = end + DELIMITER.length();
+		}
+		return builder.build();
+	}
+
+	// forget the interned strings
+	public static void clearStrings()
+	{
+		strings.clear();
+	}
+
+	private static String intern(String s)
+	{
+		String interned = strings.get(s);
+		if (interned == null) {
+			strings.put(s, s);
+			interned = s;
+		}
+		return interned;
+	}
+
+	public int size()
+	{
+		return values.length;
+	}
+
+	// return the code as written in the codeList property, with its definition if any
+	public String code(int index)
+	{
+		return codes[index];
+	}
+
+	public String value(int index)
+	{
+		return values[index];
+	}
+
+	// return null if the code has no definition
+	public String definition(int index)
+	{
+		return definitions[index];
+	}
+
+	// codeList property
+	@Override
+	public String toString()
+	{
+		StringBuilder property = new StringBuilder();
+		for (int index = 0; index < codes.length; index++)
+			property.append(codes[index]).append(DELIMITER).append(" ");
+		return property.toString();
+	}
+}
@@ -0,0 +1,65 @@
+// NIEM mapping of a UML item (the columns of the mapping spreadsheet), read once from the properties of
+// the NIEM stereotype and then used by every phase of createSubsetAndExtension
+public class MappingRow {
+
+	// property of the comma separated list of the NIEM property column: "nc:Person", "@nc:Person" for a
+	// nillable element, "(nc:PersonName)" for a representation of a substitution group
+	public static class Element {
+		// as written in the column
+		public final String text;
+		public final String name;
+		public final boolean representation;
+		public final boolean nillable;
+
+		public Element(String text2)
+		{
+			text = text2;
+			String name2 = text2;
+			representation = name2.startsWith("(") && name2.endsWith(")");
+			if (representation)
+				name2 = name2.substring(1, name2.length() - 1);
+			nillable = name2.startsWith("@");
+			if (nillable)
+				name2 = name2.substring(1);
+			name = name2;
+		}
+	}
+
+	public final UmlItem item;
+	public final String typeName;
+	public final String elementName;
+	public final String baseTypeName;
+	public final String multiplicity;
+	public final String description;
+	public final String notes;
+	public final String codeList;
+	// elements of the NIEM property column, empty if none or "??"
+	public final Element[] elements;
+	// the property column is a substitution group whose head is the first element
+	public final boolean substitution;
+	public final String headElement;
+
+	public MappingRow(UmlItem item2, String typeName2, String elementName2, String baseTypeName2, String multiplicity2,
+			String description2, String notes2, String codeList2)
+	{
+		item = item2;
+		typeName = typeName2;
+		elementName = elementName2;
+		baseTypeName = baseTypeName2;
+		multiplicity = multiplicity2;
+		description = description2;
+		notes = notes2;
+		codeList = codeList2;
+
+		if (elementName.equals("") || elementName.equals("??"))
+			elements = new Element[0];
+		else {
+			String[] texts = elementName.split(",");
+			elements = new Element[texts.length];
+			for (int i = 0; i < texts.length; i++)
+				elements[i] = new Element(texts[i].trim());
+		}
+		substitution = elementName.contains("(");
+		headElement = (substitution && elements.length > 0) ? elements[0].text : null;
+	}
+}
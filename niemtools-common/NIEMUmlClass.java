@@ -8,33 +8,52 @@
 //
 // NOTE: This plug_out requires that the BOUML project include a simple NIEM profile that provides the stereotypes required for mapping.
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import javax.xml.XMLConstants;
 // DOM
@@ -44,6 +63,7 @@ import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 // DOM
@@ -69,10 +89,10 @@ class NiemTools {
 	private static String abstractTypeName = "abstract";
 	private static String augmentationTypeName = "AugmentationType";
 	private static String objectTypeName = "ObjectType";
-	private static String hashDelimiter = ",";
 	public static int importPass;
 	public static String importPath;
 	private static String filepathProperty = "path";
+	private static String locationProperty = "location";
 	private static String localPrefix = "local";
 	private static String structuresPrefix = "structures";
 	private static String extensionSchemaURI = "http://local/";
@@ -81,13 +101,22 @@ class NiemTools {
 	private static String uriProperty = "URI";
 	private static String substitutionProperty = "substitutesFor";
 	private static String codeListProperty = "codeList";
-	private static String codeListDelimiter = ";";
-	private static String codeListDefDelimiter = "=";
+	private static String snapshotProperty = "snapshot";
+	private static String hashProperty = "hash";
+	private static String indexProperty = "index";
 	public static final String niemStereotype = "niem-profile:niem";
 	private static String stereotypeDelimiter = ":";
 	private static String WSDLPrefix = "WSDL";
 	private static String WSDLXSDFile = "MessageWrappers";
 	private static String xmlPrefix = "xs";
+	// simple types of the XML schema namespace
+	private static final String[] xmlTypeNames = { "anyURI", "base64Binary", "blockSet", "boolean", "byte", "date", "dateTime",
+			"decimal", "derivationControl", "derivationSet", "double", "duration", "ENTITIES", "ENTITY", "float",
+			"formChoice", "fullDerivationSet", "gDay", "gMonth", "gMonthDay", "gYear", "gYearMonth", "hexBinary",
+			"int", "integer", "language", "long", "Name", "namespaceList", "NCName", "negativeInteger", "NMTOKEN",
+			"NMTOKENS", "nonNegativeInteger", "nonPositiveInteger", "normalizedString", "NOTATION",
+			"positiveInteger", "public", "QName", "short", "simpleDerivationSet", "string", "time", "token",
+			"unsignedByte", "unsignedInt", "unsignedLong", "unsignedShort" };
 	private static Set<String> externalPrefixes = new HashSet<String>();
 	private static Map<String,String> externalSchemaURL = new HashMap<String,String>();
 
@@ -98,26 +127,74 @@ class NiemTools {
 			{ "NIEM Multiplicity", "Multiplicity" }, { "Old XPath", "OldXPath" },
 			{ "Old Multiplicity", "OldMultiplicity" }, { "NIEM Mapping Notes", "Notes" } , { "Code List Code=Definition;" , "CodeList"} };
 	private static String namespaceDelimiter = ":";
-	private static Map<String, UmlItem> NiemElements = new HashMap<String, UmlItem>();
-	private static Map<String, List<UmlClassInstance>> NiemElementsInType = new HashMap<String, List<UmlClassInstance>>();
+	private static Map<QualifiedName, UmlItem> NiemElements = new HashMap<QualifiedName, UmlItem>();
+	// elements of each type, hashed to test the membership
+	private static Map<QualifiedName, Set<UmlClassInstance>> NiemElementsInType = new HashMap<QualifiedName, Set<UmlClassInstance>>();
 	private static Map<String, Namespace> Namespaces = new HashMap<String, Namespace>();
 	private static Map<String, String> Prefixes = new HashMap<String, String>();
-	private static Map<String, UmlClass> NiemTypes = new HashMap<String, UmlClass>();
+	// qualified names of prefix:name with the current prefixes
+	private static Map<String, QualifiedName> PrefixedNames = new HashMap<String, QualifiedName>();
+	private static Map<QualifiedName, UmlClass> NiemTypes = new HashMap<QualifiedName, UmlClass>();
+	// parsed codeList properties of the types, read from the type when missing
+	private static Map<QualifiedName, CodeList> NiemCodeLists = new HashMap<QualifiedName, CodeList>();
 
-	private static Map<String, UmlItem> SubsetElements = new HashMap<String, UmlItem>();
-	private static Map<String, List<UmlClassInstance>> SubsetElementsInType = new HashMap<String, List<UmlClassInstance>>();
-	private static Map<String, UmlClass> SubsetTypes = new HashMap<String, UmlClass>();
+	private static Map<QualifiedName, UmlItem> SubsetElements = new HashMap<QualifiedName, UmlItem>();
+	private static Map<QualifiedName, Set<UmlClassInstance>> SubsetElementsInType = new HashMap<QualifiedName, Set<UmlClassInstance>>();
+	private static Map<QualifiedName, UmlClass> SubsetTypes = new HashMap<QualifiedName, UmlClass>();
+	private static Map<QualifiedName, CodeList> SubsetCodeLists = new HashMap<QualifiedName, CodeList>();
 
-	private static Map<String, UmlItem> ExtensionElements = new HashMap<String, UmlItem>();
-	private static Map<String, List<UmlClassInstance>> ExtensionElementsInType = new HashMap<String, List<UmlClassInstance>>();
-	private static Map<String, UmlClass> ExtensionTypes = new HashMap<String, UmlClass>();
+	private static Map<QualifiedName, UmlItem> ExtensionElements = new HashMap<QualifiedName, UmlItem>();
+	private static Map<QualifiedName, Set<UmlClassInstance>> ExtensionElementsInType = new HashMap<QualifiedName, Set<UmlClassInstance>>();
+	private static Map<QualifiedName, UmlClass> ExtensionTypes = new HashMap<QualifiedName, UmlClass>();
 
 	private static UmlPackage subsetPackage = null, extensionPackage = null, referencePackage = null;
-
-	private static XPath xPath = XPathFactory.newInstance().newXPath();
+	// generation of the NIEM packages, counting the class views, types, elements and elements in types
+	// created or deleted by NiemTools, and generation of the packages when last read by cacheModel
+	private static Map<UmlPackage, Integer> generations = new HashMap<UmlPackage, Integer>();
+	private static Map<UmlPackage, Integer> cachedGenerations = new HashMap<UmlPackage, Integer>();
+
+	// parse the schemas with DOM and XPath rather than StAX
+	private static boolean domSchemaParser = false;
+
+	// snapshot of the reference model index written by importSchemaDir and read by cacheModel, null if not used
+	private static String referenceSnapshot = null;
+
+	// file of the reference model index in the indexed reference mode, null if the reference model is in BOUML
+	private static String referenceIndexFile = null;
+	private static ReferenceIndex referenceIndex = null;
+
+	// parser of each thread parsing schemas, the parsers are not thread safe
+	private static ThreadLocal<DocumentBuilder> documentBuilder = new ThreadLocal<DocumentBuilder>() {
+		@Override
+		protected DocumentBuilder initialValue() {
+			DocumentBuilderFactory docBuilderFactory = DocumentBuilderFactory.newInstance();
+			docBuilderFactory.setNamespaceAware(true);
+			try {
+				return docBuilderFactory.newDocumentBuilder();
+			} catch (ParserConfigurationException e) {
+				throw new IllegalStateException("could not configure parser " + e.toString());
+			}
+		}
+	};
+	// XPath expressions compiled once per thread, they only use the fixed xs prefix so they
+	// do not depend on the document and are bound to a namespace context without document
+	private static ThreadLocal<Map<String, XPathExpression>> xPathExpressions = new ThreadLocal<Map<String, XPathExpression>>() {
+		@Override
+		protected Map<String, XPathExpression> initialValue() {
+			return new HashMap<String, XPathExpression>();
+		}
+	};
+	private static ThreadLocal<XPath> xPaths = new ThreadLocal<XPath>() {
+		@Override
+		protected XPath initialValue() {
+			XPath xPath = XPathFactory.newInstance().newXPath();
+			xPath.setNamespaceContext(NamespaceResolver.SCHEMA);
+			return xPath;
+		}
+	};
 
 	// add element to reference model
-	public static UmlClassInstance addElement(Document doc, UmlClassView parentClassView, String schemaURI,
+	public static UmlClassInstance addElement(XmlSchema schema, UmlClassView parentClassView, String schemaURI,
 			String propertyName, String baseName, String description) {
 		String propertyName2 = propertyName.replace("-", "");
 		// String propertyName2 = propertyName;
@@ -132,14 +209,14 @@ class NiemTools {
 				else
 					base = subsetAbstractType;
 			} else {
-				base = findTypeByPrefix(doc, (UmlPackage) (parentClassView.parent()), baseName);
+				base = findTypeByPrefix(schema, (UmlPackage) (parentClassView.parent()), baseName);
 				if (base == null)
 					return null;
 			}
 			ci = UmlClassInstance.create(parentClassView, propertyName2, base);
-			String en = schemaURI + hashDelimiter + propertyName2;
-			ci.set_PropertyValue(uriProperty, en);
+			ci.set_PropertyValue(uriProperty, QualifiedName.of(schemaURI, propertyName2).toString());
 			ci.set_Description(description);
+			modelChanged(rootPackage);
 		}
 		return ci;
 	}
@@ -178,11 +255,8 @@ class NiemTools {
 		}
 
 		// if namespace doesn't exist, create it
-		UmlClassView nsClassView;
-		if (isNiemElement(elementName))
-			nsClassView = addNamespace(subsetPackage, prefix, schemaURI);
-		else
-			nsClassView = addNamespace(extensionPackage, prefix, schemaURI);
+		UmlPackage rootPackage = isNiemElement(elementName) ? subsetPackage : extensionPackage;
+		UmlClassView nsClassView = addNamespace(rootPackage, prefix, schemaURI);
 		if (nsClassView == null) {
 			UmlCom.trace("Subset/extension classview not found for " + schemaURI);
 			return null;
@@ -209,15 +283,16 @@ class NiemTools {
 		trace("Copying element " + element + " in subset");
 		element = UmlClassInstance.create(nsClassView, elementName2, baseType);
 		element.set_Description(description);
-		element.set_PropertyValue(uriProperty, schemaURI + hashDelimiter + elementName2);
+		element.set_PropertyValue(uriProperty, QualifiedName.of(schemaURI, elementName2).toString());
 		if (!notes.equals(""))
 			element.set_PropertyValue(notesProperty, notes);
+		modelChanged(rootPackage);
 
 		return element;
 	}
 
 	// add element in type to reference model
-	public static UmlAttribute addElementInType(Document doc, UmlClassView parentClassView, String schemaURI,
+	public static UmlAttribute addElementInType(XmlSchema schema, UmlClassView parentClassView, String schemaURI,
 			String typeName, String propertyName, String multiplicity) {
 		// abort if external schame
 		//		if (isExternal(typeName) || isExternal(propertyName))
@@ -228,12 +303,15 @@ class NiemTools {
 			UmlCom.trace("addElementInType: type " + typeName + " not found");
 			return null;
 		}
-		UmlClassInstance ci = findElementByPrefix(doc, (UmlPackage) (parentClassView.parent()), propertyName);
+		UmlClassInstance ci = findElementByPrefix(schema, (UmlPackage) (parentClassView.parent()), propertyName);
 		if (ci == null) {
 			UmlCom.trace("addElementInType: element " + propertyName + " not found");
 			return null;
 		}
-		return addElementInType(type, ci, multiplicity);
+		UmlAttribute at = addElementInType(type, ci, multiplicity);
+		if (at != null)
+			modelChanged((UmlPackage) (parentClassView.parent()));
+		return at;
 	}
 
 	// add element in type to extension
@@ -260,7 +338,10 @@ class NiemTools {
 			UmlCom.trace("addElementInType: type " + typeName + " not found");
 			return null;
 		}
-		return addElementInType(type, element, multiplicity);
+		UmlAttribute at = addElementInType(type, element, multiplicity);
+		if (at != null)
+			modelChanged(extensionPackage);
+		return at;
 	}
 
 	// add element in type to reference model or extension
@@ -276,8 +357,9 @@ class NiemTools {
 		String propertyName = element.parent().name() + namespaceDelimiter + element.pretty_name();
 		String propertyName2 = propertyName.replace("-", "");
 		UmlAttribute at = null;
-		for (UmlItem item : type.children())
+		for (int itemIndex = 0; itemIndex < type.childrenCount(); itemIndex++)
 		{
+			UmlItem item = type.childAt(itemIndex);
 			if (item.kind() == anItemKind.anAttribute && item.name().equals(propertyName2))
 			{
 				at = (UmlAttribute)item;
@@ -331,6 +413,7 @@ class NiemTools {
 		if (!Prefixes.containsKey(prefix2)) {
 			trace("Adding prefix " + prefix2);
 			Prefixes.put(prefix2, schemaURI);
+			PrefixedNames.clear();
 		}
 
 		if (parentPackage == referencePackage) {
@@ -354,6 +437,7 @@ class NiemTools {
 		else
 			ns.nsClassView = namespaceClassView;
 		namespaceClassView.set_PropertyValue(uriProperty, schemaURI);
+		modelChanged(parentPackage);
 
 		if (parentPackage == extensionPackage)
 		{
@@ -397,11 +481,8 @@ class NiemTools {
 		}
 
 		// if namespace doesn't exist, create it
-		UmlClassView nsClassView;
-		if (isNiemType(typeName))
-			nsClassView = addNamespace(subsetPackage, prefix, schemaURI);
-		else
-			nsClassView = addNamespace(extensionPackage, prefix, schemaURI);
+		UmlPackage rootPackage = isNiemType(typeName) ? subsetPackage : extensionPackage;
+		UmlClassView nsClassView = addNamespace(rootPackage, prefix, schemaURI);
 		if (nsClassView == null) {
 			UmlCom.trace("Subset/extension classview not found for " + schemaURI);
 			return null;
@@ -416,9 +497,10 @@ class NiemTools {
 		if (typeClass != null)
 		{
 			typeClass.set_Description(description);
-			typeClass.set_PropertyValue(uriProperty, schemaURI + hashDelimiter + typeName2);
+			typeClass.set_PropertyValue(uriProperty, QualifiedName.of(schemaURI, typeName2).toString());
 			if (!notes.equals(""))
 				typeClass.set_PropertyValue(notesProperty, notes);
+			modelChanged(rootPackage);
 		}
 		return typeClass;
 	}
@@ -437,25 +519,49 @@ class NiemTools {
 			} catch (Exception e) {
 				UmlCom.trace("addType: type not found " + tagName + " " + e.toString());
 			}
-			String tn = schemaURI + hashDelimiter + tagName2;
-			typeClass.set_PropertyValue(uriProperty, tn);
+			typeClass.set_PropertyValue(uriProperty, QualifiedName.of(schemaURI, tagName2).toString());
 			if (!notes.equals(""))
 				typeClass.set_PropertyValue(notesProperty, notes);
 			typeClass.set_Description(description);
+			modelChanged((UmlPackage) (parentClassView.parent()));
 		}
 		return typeClass;
 	}
 
-	// cache NIEM extensions
+	// cache NIEM extensions, nothing is read if the package has not changed since it was last cached
 	public static void cacheModel(UmlPackage rootPackage) {
 		if (rootPackage == null)
 			return;
+		int generation = generation(rootPackage);
+		Integer cachedGeneration = cachedGenerations.get(rootPackage);
+		if (cachedGeneration != null && cachedGeneration.intValue() == generation) {
+			trace("cacheModel: " + rootPackage.name() + " unchanged");
+			return;
+		}
+
+		String phase = UmlCom.set_phase("cache model");
+
+		// in the indexed reference mode the reference package only has the namespaces
+		if (rootPackage == referencePackage && referenceIndexFile != null && referenceIndex == null)
+			readReferenceIndex();
+
+		// reload the reference model index rather than reading the reference package
+		if (rootPackage == referencePackage && readReferenceSnapshot()) {
+			referenceAbstractType = NiemTypes.get(QualifiedName.of(localPrefix, abstractTypeName));
+			referenceAnyElement = (UmlClassInstance)NiemElements.get(QualifiedName.of(XMLConstants.W3C_XML_SCHEMA_NS_URI, anyElementName));
+			cachedGenerations.put(rootPackage, generation);
+			UmlCom.set_phase(phase);
+			return;
+		}
+
+		// read packages, classviews, classes and attributes in bursts
+		UmlItem.prefetch(rootPackage, 3);
 
 		// Cache namespaces, types and elements
 		String schemaURI;
-		Map<String, UmlItem> Elements = null;
-		Map<String, List<UmlClassInstance>> ElementsInType = null;
-		Map<String, UmlClass> Types = null;
+		Map<QualifiedName, UmlItem> Elements = null;
+		Map<QualifiedName, Set<UmlClassInstance>> ElementsInType = null;
+		Map<QualifiedName, UmlClass> Types = null;
 
 		if (rootPackage == referencePackage) {
 			Elements = NiemElements;
@@ -471,8 +577,17 @@ class NiemTools {
 			ElementsInType = ExtensionElementsInType;
 			Types = ExtensionTypes;
 		}
+		if (Types == null) {
+			UmlCom.set_phase(phase);
+			return;
+		}
+		// read again from scratch
+		Elements.clear();
+		ElementsInType.clear();
+		Types.clear();
 
-		for (UmlItem cv : rootPackage.children()) {
+		for (int cvIndex = 0; cvIndex < rootPackage.childrenCount(); cvIndex++) {
+			UmlItem cv = rootPackage.childAt(cvIndex);
 			if (cv.kind() != anItemKind.aClassView)
 				continue;
 
@@ -481,6 +596,7 @@ class NiemTools {
 			if (!Prefixes.containsKey(prefix)) {
 				trace("Adding prefix " + prefix);
 				Prefixes.put(prefix, schemaURI);
+				PrefixedNames.clear();
 			}
 			Namespace ns = Namespaces.get(schemaURI);
 			if (ns == null) {
@@ -496,15 +612,16 @@ class NiemTools {
 			if (rootPackage == referencePackage || rootPackage == extensionPackage)
 				ns.filepath = cv.propertyValue(filepathProperty);
 
-			for (UmlItem c : cv.children()) {
-				schemaURI = c.propertyValue(uriProperty);
-				if (schemaURI != null)
+			for (int cIndex = 0; cIndex < cv.childrenCount(); cIndex++) {
+				UmlItem c = cv.childAt(cIndex);
+				QualifiedName qn = qualifiedName(c);
+				if (qn != null)
 					switch (c.kind().value()) {
 					case anItemKind._aClass:
-						Types.put(schemaURI, (UmlClass) c);
+						Types.put(qn, (UmlClass) c);
 						break;
 					case anItemKind._aClassInstance:
-						Elements.put(schemaURI, (UmlClassInstance) c);
+						Elements.put(qn, (UmlClassInstance) c);
 						break;
 					default:
 						break;
@@ -514,26 +631,26 @@ class NiemTools {
 
 		// Cache elements in types
 		for (UmlClass c : Types.values()) {
-			String cn = c.propertyValue(uriProperty);
-			List<UmlClassInstance> enlist = (List<UmlClassInstance>) (ElementsInType.get(cn));
-			if (enlist == null) {
-				enlist = new ArrayList<UmlClassInstance>();
-				ElementsInType.put(cn, enlist);
-			}
-			for (UmlItem a : c.children())
+			QualifiedName cn = qualifiedName(c);
+			Set<UmlClassInstance> enlist = new LinkedHashSet<UmlClassInstance>();
+			ElementsInType.put(cn, enlist);
+			for (int aIndex = 0; aIndex < c.childrenCount(); aIndex++)
+			{
+				UmlItem a = c.childAt(aIndex);
 				if (a.kind() == anItemKind.anAttribute) {
 					trace("Caching " + a.propertyValue(uriProperty));
-					UmlClassInstance ci = (UmlClassInstance) Elements.get(a.propertyValue(uriProperty));
+					UmlClassInstance ci = (UmlClassInstance) Elements.get(qualifiedName(a));
 					enlist.add(ci);
 				}
+			}
 		}
 
 		if (rootPackage == referencePackage) {
 			NiemElements = Elements;
 			NiemElementsInType = ElementsInType;
 			NiemTypes = Types;
-			referenceAbstractType = NiemTypes.get(localPrefix + hashDelimiter + abstractTypeName);
-			referenceAnyElement = (UmlClassInstance)NiemElements.get(XMLConstants.W3C_XML_SCHEMA_NS_URI + hashDelimiter + anyElementName);
+			referenceAbstractType = NiemTypes.get(QualifiedName.of(localPrefix, abstractTypeName));
+			referenceAnyElement = (UmlClassInstance)NiemElements.get(QualifiedName.of(XMLConstants.W3C_XML_SCHEMA_NS_URI, anyElementName));
 			//referenceAbstractType = findType(referencePackage, localSchemaURI + localPrefix, abstractTypeName);
 			//if (referenceAbstractType == null)
 			trace("cacheModel: reference abstract type not found");
@@ -541,9 +658,9 @@ class NiemTools {
 			SubsetElements = Elements;
 			SubsetElementsInType = ElementsInType;
 			SubsetTypes = Types;
-			subsetAbstractType = SubsetTypes.get(localPrefix + hashDelimiter + abstractTypeName);
-			subsetAugmentationType = SubsetTypes.get(structuresPrefix + hashDelimiter + augmentationTypeName);
-			subsetObjectType = SubsetTypes.get(structuresPrefix + hashDelimiter + objectTypeName);
+			subsetAbstractType = SubsetTypes.get(QualifiedName.of(localPrefix, abstractTypeName));
+			subsetAugmentationType = SubsetTypes.get(QualifiedName.of(structuresPrefix, augmentationTypeName));
+			subsetObjectType = SubsetTypes.get(QualifiedName.of(structuresPrefix, objectTypeName));
 			//subsetAbstractType = findType(subsetPackage, localSchemaURI + localPrefix, abstractTypeName);
 			//if (subsetAbstractType == null)
 			trace("cacheModel: subset abstract type not found");
@@ -553,6 +670,62 @@ class NiemTools {
 			ExtensionElementsInType = ElementsInType;
 			ExtensionTypes = Types;
 		}
+		cachedGenerations.put(rootPackage, generation);
+		UmlCom.set_phase(phase);
+	}
+
+	// count a creation or deletion in a NIEM package, the next cacheModel of the package reads it again
+	private static void modelChanged(UmlPackage rootPackage) {
+		generations.put(rootPackage, generation(rootPackage) + 1);
+	}
+
+	private static int generation(UmlPackage rootPackage) {
+		Integer generation = generations.get(rootPackage);
+		return (generation == null) ? 0 : generation.intValue();
+	}
+
+	// forget the cached model, used by the benchmarks to start each import from an empty model
+	public static void clearCache() {
+		NiemElements.clear();
+		NiemElementsInType.clear();
+		NiemTypes.clear();
+		NiemCodeLists.clear();
+		Namespaces.clear();
+		Prefixes.clear();
+		PrefixedNames.clear();
+		SubsetElements.clear();
+		SubsetElementsInType.clear();
+		SubsetTypes.clear();
+		SubsetCodeLists.clear();
+		CodeList.clearStrings();
+		QualifiedName.clear();
+		ExtensionElements.clear();
+		ExtensionElementsInType.clear();
+		ExtensionTypes.clear();
+		subsetPackage = extensionPackage = referencePackage = null;
+		generations.clear();
+		cachedGenerations.clear();
+		referenceAbstractType = null;
+		referenceAnyElement = null;
+		subsetAbstractType = null;
+		subsetAugmentationType = null;
+		subsetObjectType = null;
+		referenceIndex = null;
+	}
+
+	// return the parsed codeList property of a type, null if it has none
+	private static CodeList codeList(UmlClass type, Map<QualifiedName, CodeList> codeLists) {
+		QualifiedName uri = qualifiedName(type);
+		CodeList codeList = (uri != null) ? codeLists.get(uri) : null;
+		if (codeList == null) {
+			String property = type.propertyValue(codeListProperty);
+			if (property == null)
+				return null;
+			codeList = CodeList.parse(property);
+			if (uri != null)
+				codeLists.put(uri, codeList);
+		}
+		return codeList;
 	}
 
 	protected static String columnHtml(String value, String bgcolor, String fgcolor, Boolean wordwrap) {
@@ -571,58 +744,13 @@ class NiemTools {
 			return null;
 		}
 		trace("Namespace found");
-		// if element already exists in subset, return
-		String elementName2 = getName(elementName);
-		UmlClassInstance element = findElement(subsetPackage, schemaURI, elementName2);
-		if (element != null) {
-			trace("Element " + element + " already exists in subset");
-			return element;
-		}
-
-		// if type doesn't exist in reference model, return
-		UmlClassInstance sourceElement = findElement(referencePackage, schemaURI, elementName2);
-		if (sourceElement == null) {
-			UmlCom.trace("Element " + schemaURI + namespaceDelimiter + elementName2 + " not found in reference");
-			return null;
-		}
-		trace("Element found in reference model");
-
-		// if namespace doesn't exist, create it
-		UmlClassView nsClassView = addNamespace(subsetPackage, prefix, schemaURI);
-		if (nsClassView == null) {
-			UmlCom.trace("Subset classview not found for " + schemaURI);
-			return null;
-		}
-
-		// find base type
-		UmlClass sourceBaseType = sourceElement.type();
-		String pt = sourceBaseType.pretty_name();
-		String baseSchemaURI = sourceBaseType.parent().propertyValue(uriProperty);
-		UmlClass baseType = findType(subsetPackage, baseSchemaURI, pt);
-		if (baseType == null)
-			if (baseType == null) {
-				Namespace ns = Namespaces.get(schemaURI);
-				if (ns != null) {
-					UmlClassView cv = ns.referenceClassView;
-					if (cv != null) {
-						String basePrefix = cv.name();
-						baseType = copyType(baseSchemaURI, basePrefix, pt);
-					}
-					if (baseType != null) 
-						SubsetTypes.put(baseType.propertyValue(uriProperty), baseType);
-				}
-				if (baseType == null) {
-					UmlCom.trace("Base type not found in subset for " + baseSchemaURI + namespaceDelimiter + pt);
-					return null;
-				}
-			}
-		// create element
-		trace("Copying element " + element + " in subset");
-		element = UmlClassInstance.create(nsClassView, elementName2, baseType);
-		element.set_Description(sourceElement.description());
-		element.set_PropertyValue(uriProperty, sourceElement.propertyValue(uriProperty));
-
-		return element;
+		QualifiedName uri = QualifiedName.of(schemaURI, getName(elementName));
+		SubsetPlan plan = new SubsetPlan(subsetReference());
+		if (plan.addElement(uri, null))
+			copySubset(plan);
+		else
+			UmlCom.trace("Element " + schemaURI + namespaceDelimiter + uri.name + " not found in reference");
+		return findElement(subsetPackage, uri);
 	}
 
 	// copy element in type from NIEM reference model to subset
@@ -652,8 +780,9 @@ class NiemTools {
 		 */
 		trace("copyElementInType: Adding " + element.pretty_name() + " to type " + type.pretty_name());
 		UmlAttribute at = null;
-		for (UmlItem item : type.children())
+		for (int itemIndex = 0; itemIndex < type.childrenCount(); itemIndex++)
 		{
+			UmlItem item = type.childAt(itemIndex);
 			if (item.kind() == anItemKind.anAttribute && item.name().equals(element.pretty_name()))
 			{
 				at = (UmlAttribute)item;
@@ -677,6 +806,7 @@ class NiemTools {
 			if (ct2.type != null)
 				at.set_Type(ct2);
 			at.set_Multiplicity(multiplicity);
+			modelChanged(subsetPackage);
 		}
 		return at;
 	}
@@ -692,81 +822,204 @@ class NiemTools {
 			return null;
 		}
 		trace("Namespace found");
-		// if type already exists in subset, return
 		String typeName2 = getName(typeName);
-		return copyType(schemaURI, prefix, typeName2);
+		QualifiedName uri = QualifiedName.of(schemaURI, typeName2);
+		SubsetPlan plan = new SubsetPlan(subsetReference());
+		if (plan.addType(uri))
+			copySubset(plan);
+		else
+			UmlCom.trace("copyType: Type " + schemaURI + namespaceDelimiter + typeName2 + " not found in reference");
+		return findType(subsetPackage, schemaURI, typeName2);
 	}
 
-	// copy type from reference model to subset
-	public static UmlClass copyType(String schemaURI, String prefix, String typeName2) {
-		UmlClass typeClass = findType(subsetPackage, schemaURI, typeName2);
-		if (typeClass != null) {
-			trace("Type " + typeName2 + " already exists in subset");
-			return typeClass;
+	// create in the subset the types, elements and elements in types of a plan, in its order
+	private static void copySubset(SubsetPlan plan) {
+		for (QualifiedName uri : plan.types()) {
+			UmlClass typeClass = copySubsetType(uri);
+			if (typeClass == null)
+				continue;
+			// base types are already copied
+			for (QualifiedName baseUri : plan.baseTypes(uri)) {
+				UmlClass baseType = findType(subsetPackage, baseUri.schemaURI, baseUri.name);
+				if (baseType == null)
+				{
+					UmlCom.trace("copyType: base type not found " + baseUri.name);
+					continue;
+				}
+				try {
+					UmlBaseRelation.create(aRelationKind.aGeneralisation, typeClass, baseType);
+				} catch (Exception re) {
+					UmlCom.trace("createSubset: cannot relate " + typeClass + " to " + baseUri.name + " " + re.toString());
+				}
+			}
 		}
 
-		// if type doesn't exist in reference model, return
-		UmlClass sourceType = findType(referencePackage, schemaURI, typeName2);
-		if (sourceType == null) {
-			UmlCom.trace("copyType: Type " + schemaURI + namespaceDelimiter + typeName2 + " not found in reference");
-			return null;
+		for (QualifiedName uri : plan.elements())
+			copySubsetElement(uri, plan.elementType(uri));
+
+		for (SubsetPlan.ElementInType elementInType : plan.elementsInType()) {
+			UmlClass type = findType(subsetPackage, elementInType.type);
+			if (type == null) {
+				UmlCom.trace("copyElementInType: type " + elementInType.type + " not found");
+				continue;
+			}
+			UmlClassInstance element = findElement(subsetPackage, elementInType.element);
+			if (element == null)
+				continue;
+			trace("Adding element " + elementInType.element + " in type " + elementInType.type + " in subset");
+			QualifiedName cn = qualifiedName(element.parent());
+			Set<UmlClassInstance> enlist = (SubsetElementsInType.get(cn));
+			if (enlist == null) {
+				enlist = new LinkedHashSet<UmlClassInstance>();
+				SubsetElementsInType.put(cn, enlist);
+			}
+			copyElementInType(type, element, elementInType.multiplicity);
 		}
+	}
+
+	// create a type of the reference model in the subset, without its base types
+	private static UmlClass copySubsetType(QualifiedName uri) {
+		UmlClass sourceType = null;
+		ReferenceIndex.Type indexedType = null;
+		if (referenceIndexFile == null)
+			sourceType = NiemTypes.get(uri);
+		else
+			indexedType = referenceIndex.types.get(uri);
 		trace("Type found in reference model");
 		// if namespace doesn't exist, create it
-		UmlClassView nsClassView = addNamespace(subsetPackage, prefix, schemaURI);
+		Namespace ns = Namespaces.get(uri.schemaURI);
+		UmlClassView nsClassView = (ns == null || ns.referenceClassView == null) ? null
+				: addNamespace(subsetPackage, ns.referenceClassView.name(), uri.schemaURI);
 		if (nsClassView == null) {
-			UmlCom.trace("copyType: Subset classview not found for " + schemaURI);
+			UmlCom.trace("copyType: Subset classview not found for " + uri.schemaURI);
 			return null;
 		}
 		trace("Subset classview created " + nsClassView.pretty_name() + " " + nsClassView.propertyValue(uriProperty));
 		// create type
-		trace("Copying type " + typeName2 + " to subset schema " + nsClassView.pretty_name());
+		trace("Copying type " + uri.name + " to subset schema " + nsClassView.pretty_name());
+		UmlClass typeClass = null;
 		try {
-			typeClass = UmlClass.create(nsClassView, typeName2);
+			typeClass = UmlClass.create(nsClassView, uri.name);
 		} catch (Exception e) {
-			UmlCom.trace("copyType: type not found " + typeName2 + " " + e.toString());
+			UmlCom.trace("copyType: type not found " + uri.name + " " + e.toString());
 		}
 		if (typeClass == null)
 		{
-			UmlCom.trace("copyType: type not found " + typeName2 + " ");
+			UmlCom.trace("copyType: type not found " + uri.name + " ");
 			return null;
 		}
 
-		SubsetTypes.put(typeClass.propertyValue(uriProperty), typeClass);
-		typeClass.set_Description(sourceType.description());
-		typeClass.set_PropertyValue(uriProperty, sourceType.propertyValue(uriProperty));
-		String codeList = sourceType.propertyValue(codeListProperty);
-		if (codeList != null)
-			typeClass.set_PropertyValue(codeListProperty, codeList);
+		CodeList codeList;
+		if (sourceType != null) {
+			typeClass.set_Description(sourceType.description());
+			codeList = codeList(sourceType, NiemCodeLists);
+		} else {
+			typeClass.set_Description(indexedType.description);
+			codeList = (indexedType.codeList != null) ? CodeList.parse(indexedType.codeList) : null;
+		}
+		typeClass.set_PropertyValue(uriProperty, uri.toString());
+		SubsetTypes.put(uri, typeClass);
+		modelChanged(subsetPackage);
+		// found by name by findType
+		if (uri.name.equals(abstractTypeName))
+			subsetAbstractType = typeClass;
+		if (codeList != null) {
+			typeClass.set_PropertyValue(codeListProperty, codeList.toString());
+			SubsetCodeLists.put(uri, codeList);
+		}
+		return typeClass;
+	}
+
+	// create an element of the reference model in the subset, its type is already copied
+	private static UmlClassInstance copySubsetElement(QualifiedName uri, QualifiedName typeUri) {
+		UmlClassInstance sourceElement = null;
+		ReferenceIndex.Element indexedElement = null;
+		if (referenceIndexFile == null)
+			sourceElement = (UmlClassInstance) NiemElements.get(uri);
+		else
+			indexedElement = referenceIndex.elements.get(uri);
+		trace("Element found in reference model");
 
-		// copy base type
-		for (UmlItem item : sourceType.children())
-		{
-			if (item.kind() == anItemKind.aRelation)
-			{
-				UmlRelation r = (UmlRelation)item;
-				if (r.relationKind() == aRelationKind.aGeneralisation)
-				{
-					UmlClass sourceBaseType = r.roleType();
-					String sourceBasePrefix = sourceBaseType.parent().name();
-					String sourceBaseSchemaURI = Prefixes.get(sourceBasePrefix);
-					String sourceBaseTagName = sourceBaseType.name();
-					UmlClass baseType = copyType(sourceBaseSchemaURI, sourceBasePrefix, sourceBaseTagName);
-					if (baseType == null)
+		// if namespace doesn't exist, create it
+		Namespace ns = Namespaces.get(uri.schemaURI);
+		UmlClassView nsClassView = (ns == null || ns.referenceClassView == null) ? null
+				: addNamespace(subsetPackage, ns.referenceClassView.name(), uri.schemaURI);
+		if (nsClassView == null) {
+			UmlCom.trace("Subset classview not found for " + uri.schemaURI);
+			return null;
+		}
+
+		UmlClass baseType = findType(subsetPackage, typeUri.schemaURI, typeUri.name);
+		if (baseType == null) {
+			UmlCom.trace("Base type not found in subset for " + typeUri.schemaURI + namespaceDelimiter + typeUri.name);
+			return null;
+		}
+		// create element
+		trace("Copying element " + uri + " in subset");
+		UmlClassInstance element = UmlClassInstance.create(nsClassView, uri.name, baseType);
+		if (sourceElement != null)
+			element.set_Description(sourceElement.description());
+		else
+			element.set_Description(indexedElement.description);
+		element.set_PropertyValue(uriProperty, uri.toString());
+		SubsetElements.put(uri, element);
+		modelChanged(subsetPackage);
+		return element;
+	}
+
+	// reference model and subset seen by the subset plans
+	private static SubsetPlan.Reference subsetReference() {
+		return new SubsetPlan.Reference() {
+			@Override
+			public List<QualifiedName> baseTypes(QualifiedName type) {
+				List<QualifiedName> baseTypes = new ArrayList<QualifiedName>();
+				if (referenceIndexFile == null) {
+					UmlClass sourceType = NiemTypes.get(type);
+					if (sourceType == null)
+						return null;
+					for (int itemIndex = 0; itemIndex < sourceType.childrenCount(); itemIndex++)
 					{
-						UmlCom.trace("copyType: base type not found " + sourceBaseTagName);
-						continue;
+						UmlItem item = sourceType.childAt(itemIndex);
+						if (item.kind() == anItemKind.aRelation && ((UmlRelation) item).relationKind() == aRelationKind.aGeneralisation)
+						{
+							QualifiedName baseType = qualifiedName(((UmlRelation) item).roleType());
+							if (baseType != null)
+								baseTypes.add(baseType);
+						}
 					}
-					SubsetTypes.put(baseType.propertyValue(uriProperty), baseType);
-					try {
-						UmlBaseRelation.create(aRelationKind.aGeneralisation, typeClass, baseType);
-					} catch (Exception re) {
-						UmlCom.trace("createSubset: cannot relate " + typeClass + " to " + sourceBaseTagName + " " + re.toString());
+				} else {
+					ReferenceIndex.Type indexedType = (referenceIndex == null) ? null : referenceIndex.types.get(type);
+					if (indexedType == null)
+						return null;
+					if (indexedType.base != null) {
+						Namespace ns = Namespaces.get(indexedType.base.schemaURI);
+						if (ns != null && ns.referenceClassView != null)
+							baseTypes.add(indexedType.base);
 					}
 				}
+				return baseTypes;
 			}
-		}
-		return typeClass;
+
+			@Override
+			public QualifiedName elementType(QualifiedName element) {
+				if (referenceIndexFile == null) {
+					UmlClassInstance sourceElement = (UmlClassInstance) NiemElements.get(element);
+					return (sourceElement == null || sourceElement.type() == null) ? null : qualifiedName(sourceElement.type());
+				}
+				ReferenceIndex.Element indexedElement = (referenceIndex == null) ? null : referenceIndex.elements.get(element);
+				return (indexedElement == null) ? null : indexedElement.type;
+			}
+
+			@Override
+			public boolean typeInSubset(QualifiedName type) {
+				return findType(subsetPackage, type.schemaURI, type.name) != null;
+			}
+
+			@Override
+			public boolean elementInSubset(QualifiedName element) {
+				return SubsetElements.containsKey(element);
+			}
+		};
 	}
 
 	// create Platform Independent Model (NIEM)
@@ -829,6 +1082,7 @@ class NiemTools {
 
 	// create NIEM subset and extension
 	public static void createSubsetAndExtension(String IEPDURI) {
+		UmlCom.set_phase("create subset and extension");
 		extensionSchemaURI = IEPDURI;
 
 		// String[] nextLine = new String[map.length];
@@ -849,7 +1103,7 @@ class NiemTools {
 			UmlClassView cv = addNamespace(subsetPackage, localPrefix, localUri);
 			subsetAbstractType = addType(cv, cv.propertyValue(uriProperty), abstractTypeName, "abstract type", "");
 			if (subsetAbstractType != null)
-				SubsetTypes.put(subsetAbstractType.propertyValue(uriProperty), subsetAbstractType);
+				SubsetTypes.put(qualifiedName(subsetAbstractType), subsetAbstractType);
 			//subsetAbstractType = copyType("local:abstract");
 		}
 
@@ -859,277 +1113,212 @@ class NiemTools {
 		{
 			subsetObjectType = copyType(structuresPrefix + namespaceDelimiter + objectTypeName);
 			if (subsetObjectType != null)
-				SubsetTypes.put(subsetObjectType.propertyValue(uriProperty), subsetObjectType);
+				SubsetTypes.put(qualifiedName(subsetObjectType), subsetObjectType);
 		}
 		if (subsetAugmentationType == null)
 		{
 			subsetAugmentationType = copyType(structuresPrefix + namespaceDelimiter + augmentationTypeName);
 			if (subsetAugmentationType != null)
-				SubsetTypes.put(subsetAugmentationType.propertyValue(uriProperty), subsetAugmentationType);
+				SubsetTypes.put(qualifiedName(subsetAugmentationType), subsetAugmentationType);
 		}
 		UmlClass type;
-		for (int i = 0; i < UmlItem.all.size(); i++) {
-			UmlItem c = (UmlItem) UmlItem.all.elementAt(i);
-			if (c.stereotype().equals(niemStereotype)) {
-				String baseTypeName = c.propertyValue(niemProperty(7));
-				//				if (!baseTypeName.equals("") && !baseTypeName.equals("??") && !isExternal(baseTypeName)) 
-				if (!baseTypeName.equals("") && !baseTypeName.equals("??")) 
-				{
-					if (isNiemType(baseTypeName)) 
+		List<MappingRow> rows = mappingRows();
+
+		// Copy the closure of the mapped types and elements
+		trace("createSubset: Plan subset");
+		SubsetPlan plan = planSubset(rows);
+		UmlCom.trace("Subset types to copy: " + plan.types().size());
+		UmlCom.trace("Subset elements to copy: " + plan.elements().size());
+		for (QualifiedName uri : plan.missing())
+			UmlCom.trace("createSubset: " + uri + " not found in reference model");
+		trace("createSubset: Copy subset");
+		copySubset(plan);
+
+		// Create extension types
+		trace("createSubset: Create extension types");
+		for (MappingRow row : rows) {
+			String typeName = row.typeName;
+			String description = null;
+			if (row.elementName.equals(""))
+				description = row.description;
+			if (typeName.endsWith("AugmentationType"))
+				description = "An augmentation type";
+
+			//				if (!typeName.equals("") && !typeName.equals("??") && !isExternal(typeName)) {
+			if (!typeName.equals("") && !typeName.equals("??")) {
+				if (!isNiemType(typeName)) {
+					trace("Adding type " + typeName + " to extension");
+					String prefix = getPrefix(typeName);
+					String schemaURI = Prefixes.get(prefix);
+					Namespace ns = findNamespace(schemaURI);
+					if (ns != null && ns.referenceClassView != null)
+					{
+						UmlCom.trace("createSubset: type " + typeName + " not found in reference model");
+						continue;
+					}
+					type = addType(typeName, description, row.notes);
+					if (type != null)
 					{
-						trace("Adding type " + baseTypeName + " to subset");
-						type = copyType(baseTypeName);
-						if (type != null)
-							SubsetTypes.put(type.propertyValue(uriProperty), type);
+						QualifiedName uri = qualifiedName(type);
+						trace("Added " + uri + " to extension");
+						ExtensionTypes.put(uri, type);
 					}
 				}
 			}
 		}
 
-		// Copy subset types and create extension types
-		trace("createSubset: Copy subset types and create extension types");
-		for (int i = 0; i < UmlItem.all.size(); i++) {
-			UmlItem c = (UmlItem) UmlItem.all.elementAt(i);
-			if (c.stereotype().equals(niemStereotype)) {
-				String typeName = c.propertyValue(niemProperty(5)).trim();
-				String elementName = c.propertyValue(niemProperty(6)).trim();
-				String notes = c.propertyValue(niemProperty(11)).trim();
-				String description = null;
-				if (elementName.equals(""))
-					description = c.description().trim();
-				if (typeName.endsWith("AugmentationType"))
-					description = "An augmentation type";
-
-				//				if (!typeName.equals("") && !typeName.equals("??") && !isExternal(typeName)) {
-				if (!typeName.equals("") && !typeName.equals("??")) {
-					if (isNiemType(typeName)) {
-						trace("Adding type " + typeName + " to subset");
-						type = copyType(typeName);
-						if (type != null)
-							SubsetTypes.put(type.propertyValue(uriProperty), type);
-					} else {
-						trace("Adding type " + typeName + " to extension");
-						String prefix = getPrefix(typeName);
-						String schemaURI = Prefixes.get(prefix);
-						Namespace ns = findNamespace(schemaURI);
-						if (ns != null && ns.referenceClassView != null)
-						{
-							UmlCom.trace("createSubset: type " + typeName + " not found in reference model");
-							continue;
-						}
-						type = addType(typeName, description, notes);
-						if (type != null)
-						{
-							String uri = type.propertyValue(uriProperty);
-							trace("Added " + uri + " to extension");
-							ExtensionTypes.put(uri, type);
-						}
-					}
-				}
-			}
-		}
+		// Set the mapped properties of subset elements and create extension elements
+		trace("createSubset: Set subset elements and create extension elements");
+		for (MappingRow row : rows) {
+			String codeList = row.codeList;
+			String description = row.description;
+			if (row.elementName.contains("Augmentation"))
+				description = "An augmentation";
 
-		// Copy subset elements and create extension elements
-		trace("createSubset: Copy subset elements and create extension elements");
-		for (int i = 0; i < UmlItem.all.size(); i++) {
-			UmlItem c = (UmlItem) UmlItem.all.elementAt(i);
-			if (c.stereotype().equals(niemStereotype)) {
-				String typeName = c.propertyValue(niemProperty(5)).trim();
-				String elementName = c.propertyValue(niemProperty(6)).trim();
-				String baseTypeName = c.propertyValue(niemProperty(7)).trim();
-				String multiplicity = c.propertyValue(niemProperty(8)).trim();
-				String description = c.description().trim();
-				String mappingNotes = c.propertyValue(niemProperty(11)).trim();
-				String codeList = c.propertyValue(niemProperty(12)).trim();
-
-				if (elementName.contains("Augmentation"))
-					description = "An augmentation";
-				
-				//				if (!elementName.equals("") && !elementName.equals("??") && !isExternal(elementName)) {
-				if (!elementName.equals("") && !elementName.equals("??")) {
-					//	String elementName2 = elementName.replace(" ", "").replace("(", "").replace(")", "");
-					String[] elements = elementName.split(",");
-					String headElement = null;
-					Boolean substitution = elementName.contains("(");
-					for (String e : elements) 
+			//				if (!elementName.equals("") && !elementName.equals("??") && !isExternal(elementName)) {
+			boolean substitution = row.substitution;
+			String headElement = row.headElement;
+			for (MappingRow.Element e : row.elements) 
+			{
+				String e2 = e.name;
+				boolean representation = e.representation;
+				boolean isNillable = e.nillable;
+				if (isNiemElement(e2)) {
+					UmlClassInstance element = findElement(subsetPackage, resolveName(e2));
+					if (element == null) {
+						UmlCom.trace("createSubset: could not create element " + e2);
+						continue;
+					}
+					if (isNillable)
+						element.set_PropertyValue(nillableProperty, "true");
+					if (substitution && representation && headElement != null)
+						element.set_PropertyValue(substitutionProperty, headElement);
+					if (!codeList.equals("") && (!substitution || representation))
+						element.set_PropertyValue(codeListProperty, codeList);
+				} else {
+					trace("Adding element " + e.text + " in extension");
+					String prefix = getPrefix(e2);
+					String schemaURI = Prefixes.get(prefix);
+					String baseTagName = row.baseTypeName;
+					if (substitution && !representation)
+						baseTagName = "abstract";
+					Namespace ns = findNamespace(schemaURI);
+					if (ns != null && ns.referenceClassView != null)
 					{
-						String e1 = e.trim();
-						String e2 = e1;
-						if (substitution && headElement == null)
-							headElement = e2;
-						boolean representation = false;
-						if (e2.startsWith("(") && e2.endsWith(")"))
-						{
-							representation = true;
-							e2 = e2.substring(1,e2.length()-1);
-						}
-						Boolean isNillable = e2.startsWith("@");
-						if (isNillable)
-							e2 = e2.substring(1);
-						if (isNiemElement(e2)) {
-							trace("Adding element " + e2 + " in subset");
-							UmlClassInstance element = copyElement(e2);
-							if (element == null) {
-								UmlCom.trace("createSubset: could not create element " + e2);
-								continue;
-							}
-							SubsetElements.put(element.propertyValue(uriProperty), element);
-							if (isNillable)
-								element.set_PropertyValue(nillableProperty, "true");
-							if (substitution && representation && headElement != null)
-								element.set_PropertyValue(substitutionProperty, headElement);
-							if (!codeList.equals("") && (!substitution || representation))
-								element.set_PropertyValue(codeListProperty, codeList);
-							if (!representation && !typeName.equals("") && isNiemElementInType(typeName, e2)) {
-								trace("Adding element " + e2 + " in type " + typeName + " in subset");
-								String cn = element.parent().propertyValue(uriProperty);
-								List<UmlClassInstance> enlist = (List<UmlClassInstance>) (SubsetElementsInType.get(cn));
-								if (enlist == null) {
-									enlist = new ArrayList<UmlClassInstance>();
-									SubsetElementsInType.put(cn, enlist);
-								}
-								copyElementInType(typeName, element, multiplicity);
-							}
-						} else {
-							trace("Adding element " + e + " in extension");
-							String prefix = getPrefix(e2);
-							String schemaURI = Prefixes.get(prefix);
-							String baseTagName = baseTypeName.trim();
-							if (substitution && !representation)
-								baseTagName = "abstract";
-							Namespace ns = findNamespace(schemaURI);
-							if (ns != null && ns.referenceClassView != null)
-							{
-								UmlCom.trace("createSubset: element " + e2 + " not found in reference model");
-								continue;
-							}
-							if (baseTagName.equals(""))
-							{
-								UmlCom.trace("createSubset: base type not found for element " +  e2);
-								continue;
-							}
-							UmlClassInstance ci = addElement(e2, baseTagName, description, mappingNotes);
-							if (ci == null) {
-								UmlCom.trace("createSubset: could not create element " + e2);
-								continue;
-							}
-							ExtensionElements.put(ci.propertyValue(uriProperty), ci);
-							if (isNillable)
-								ci.set_PropertyValue(nillableProperty, "true");
-							if (substitution && representation && headElement != null)
-								ci.set_PropertyValue(substitutionProperty, headElement);
-							if (!codeList.equals("") && (!substitution || representation))
-								ci.set_PropertyValue(codeListProperty, codeList);
-						}
+						UmlCom.trace("createSubset: element " + e2 + " not found in reference model");
+						continue;
+					}
+					if (baseTagName.equals(""))
+					{
+						UmlCom.trace("createSubset: base type not found for element " +  e2);
+						continue;
 					}
+					UmlClassInstance ci = addElement(e2, baseTagName, description, row.notes);
+					if (ci == null) {
+						UmlCom.trace("createSubset: could not create element " + e2);
+						continue;
+					}
+					ExtensionElements.put(qualifiedName(ci), ci);
+					if (isNillable)
+						ci.set_PropertyValue(nillableProperty, "true");
+					if (substitution && representation && headElement != null)
+						ci.set_PropertyValue(substitutionProperty, headElement);
+					if (!codeList.equals("") && (!substitution || representation))
+						ci.set_PropertyValue(codeListProperty, codeList);
 				}
 			}
 		}
 
 		// Create extension base types
 		trace("createSubset: Copy subset base types and create extension base types");
-		for (int i = 0; i < UmlItem.all.size(); i++) {
-			UmlItem c = (UmlItem) UmlItem.all.elementAt(i);
-			if (c.stereotype().equals(niemStereotype)) {
-				String typeName = c.propertyValue(niemProperty(5)).trim();
-				String elementName = c.propertyValue(niemProperty(6)).trim();
-				String baseTypeName = c.propertyValue(niemProperty(7)).trim();
+		for (MappingRow row : rows) {
+			String typeName = row.typeName;
+			String baseTypeName = row.baseTypeName;
 
-				if (!typeName.equals("") && !typeName.equals("??") && !baseTypeName.equals("") && elementName.equals("")) 
+			if (!typeName.equals("") && !typeName.equals("??") && !baseTypeName.equals("") && row.elementName.equals("")) 
+			{
+				String tagName = getName(typeName);
+				String prefix = getPrefix(typeName);
+				String schemaURI = Prefixes.get(prefix);
+				String baseTagName = getName(baseTypeName);
+				String basePrefix = getPrefix(baseTypeName);
+				String baseSchemaURI = Prefixes.get(basePrefix);
+				UmlClass baseType;
+				//					if (isNiemType(typeName) || isExternal(typeName))
+				if (isNiemType(typeName))			
+					continue;
+				type = findType(extensionPackage, schemaURI, tagName);
+				if (type == null)
 				{
-					String tagName = getName(typeName);
-					String prefix = getPrefix(typeName);
-					String schemaURI = Prefixes.get(prefix);
-					String baseTagName = getName(baseTypeName);
-					String basePrefix = getPrefix(baseTypeName);
-					String baseSchemaURI = Prefixes.get(basePrefix);
-					UmlClass baseType;
-					//					if (isNiemType(typeName) || isExternal(typeName))
-					if (isNiemType(typeName))			
-						continue;
-					type = findType(extensionPackage, schemaURI, tagName);
-					if (type == null)
-					{
-						UmlCom.trace("createSubset: type not found " + typeName);
-						continue;
-					}						
-					if (isNiemType(baseTypeName))
-						baseType = findType(subsetPackage, baseSchemaURI, baseTagName);
-					else
-						baseType = findType(extensionPackage, baseSchemaURI, baseTagName);
-					if (baseType == null)
-					{
-						UmlCom.trace("createSubset: base type not found " + baseTypeName);
-						continue;
-					}
-					try {
-						UmlBaseRelation.create(aRelationKind.aGeneralisation, type, baseType);
-					} catch (Exception re) {
-						trace("createSubset: " + typeName + " already related to " + baseTypeName + " " + re.toString());
-					}
+					UmlCom.trace("createSubset: type not found " + typeName);
+					continue;
+				}						
+				if (isNiemType(baseTypeName))
+					baseType = findType(subsetPackage, baseSchemaURI, baseTagName);
+				else
+					baseType = findType(extensionPackage, baseSchemaURI, baseTagName);
+				if (baseType == null)
+				{
+					UmlCom.trace("createSubset: base type not found " + baseTypeName);
+					continue;
 				}
+				try {
+					UmlBaseRelation.create(aRelationKind.aGeneralisation, type, baseType);
+				} catch (Exception re) {
+					trace("createSubset: " + typeName + " already related to " + baseTypeName + " " + re.toString());
+				}
+			}
 
-				// Add generalizations for extension augmentations
-				if (typeName.endsWith(augmentationTypeName)) 
+			// Add generalizations for extension augmentations
+			if (typeName.endsWith(augmentationTypeName)) 
+			{
+				String tagName = getName(typeName);
+				String prefix = getPrefix(typeName);
+				String schemaURI = Prefixes.get(prefix);
+				//					if (isNiemType(typeName) || isExternal(typeName))
+				if (isNiemType(typeName))
+					continue;
+				type = findType(extensionPackage, schemaURI, tagName);
+				if (type == null)
 				{
-					String tagName = getName(typeName);
-					String prefix = getPrefix(typeName);
-					String schemaURI = Prefixes.get(prefix);
-					//					if (isNiemType(typeName) || isExternal(typeName))
-					if (isNiemType(typeName))
-						continue;
-					type = findType(extensionPackage, schemaURI, tagName);
-					if (type == null)
-					{
-						UmlCom.trace("createSubset: type not found " + typeName);
-						continue;
-					}	
-					try {
-						UmlBaseRelation.create(aRelationKind.aGeneralisation, type, subsetAugmentationType);
-					} catch (Exception re) {
-						trace("createSubset: " + typeName + " already related to " + baseTypeName + " " + re.toString());
-					}
+					UmlCom.trace("createSubset: type not found " + typeName);
+					continue;
+				}	
+				try {
+					UmlBaseRelation.create(aRelationKind.aGeneralisation, type, subsetAugmentationType);
+				} catch (Exception re) {
+					trace("createSubset: " + typeName + " already related to " + baseTypeName + " " + re.toString());
 				}
 			}
 		}
 
 		// Add extension elements in type
 		trace("createSubset: Add extension elements in type");
-		for (int i = 0; i < UmlItem.all.size(); i++) {
-			UmlItem c = (UmlItem) UmlItem.all.elementAt(i);
-			if (c.stereotype().equals(niemStereotype)) {
-				String typeName = c.propertyValue(niemProperty(5)).trim();
-				String elementName = c.propertyValue(niemProperty(6)).trim();
-				String multiplicity = c.propertyValue(niemProperty(8)).trim();
-
-				if (!typeName.equals("") && !isNiemType(typeName)) {
-					if (!elementName.equals("") && !elementName.equals("??")) {
-						String[] elements = elementName.split(",");
-						for (String e : elements) {
-							String e1 = e.trim();
-							if (e1.startsWith("(") && e1.endsWith(")"))
-								continue;
-							Boolean isNillable = e1.startsWith("@");
-							if (isNillable)
-								e1 = e1.substring(1);
-							trace("Adding element " + e1 + " in type " + typeName + " in subset");
-							UmlClassInstance element;
-							if (isNiemElement(e1))
-								element = findElement(subsetPackage, e1);
-							else
-								element = findElement(extensionPackage, e1);
-							if (element != null)
-							{
-								String cn = element.parent().propertyValue(uriProperty);
-								List<UmlClassInstance> enlist = (List<UmlClassInstance>) (ExtensionElementsInType.get(cn));
-								if (enlist == null) {
-									enlist = new ArrayList<UmlClassInstance>();
-									ExtensionElementsInType.put(cn, enlist);
-								}
-								enlist.add(element);
-								addElementInType(typeName, element, multiplicity);
-							}
+		for (MappingRow row : rows) {
+			String typeName = row.typeName;
+			String multiplicity = row.multiplicity;
+
+			if (!typeName.equals("") && !isNiemType(typeName)) {
+				for (MappingRow.Element e : row.elements) {
+					if (e.representation)
+						continue;
+					String e1 = e.name;
+					trace("Adding element " + e1 + " in type " + typeName + " in subset");
+					UmlClassInstance element;
+					if (isNiemElement(e1))
+						element = findElement(subsetPackage, e1);
+					else
+						element = findElement(extensionPackage, e1);
+					if (element != null)
+					{
+						QualifiedName cn = qualifiedName(element.parent());
+						Set<UmlClassInstance> enlist = (ExtensionElementsInType.get(cn));
+						if (enlist == null) {
+							enlist = new LinkedHashSet<UmlClassInstance>();
+							ExtensionElementsInType.put(cn, enlist);
 						}
+						enlist.add(element);
+						addElementInType(typeName, element, multiplicity);
 					}
 				}
 			}
@@ -1141,8 +1330,62 @@ class NiemTools {
 		extensionPackage.sort();
 	}
 
+	// compute the types and elements to copy to the subset for the NIEM mappings, without changing the model
+	private static SubsetPlan planSubset(List<MappingRow> rows) {
+		SubsetPlan plan = new SubsetPlan(subsetReference());
+		for (MappingRow row : rows)
+			if (isNiemType(row.baseTypeName)) {
+				trace("Adding type " + row.baseTypeName + " to subset");
+				plan.addType(resolveName(row.baseTypeName));
+			}
+		for (MappingRow row : rows)
+			if (isNiemType(row.typeName)) {
+				trace("Adding type " + row.typeName + " to subset");
+				plan.addType(resolveName(row.typeName));
+			}
+		for (MappingRow row : rows) {
+			// representations substitute for the first element
+			// the prefixes of the extension are not known yet and are not checked here
+			QualifiedName headElement = null;
+			if (row.substitution && row.elements.length > 0 && resolveName(row.elements[0].name) != null
+					&& isNiemElement(row.elements[0].name))
+				headElement = resolveName(row.elements[0].name);
+			for (MappingRow.Element e : row.elements) {
+				QualifiedName uri = resolveName(e.name);
+				if (uri == null || !isNiemElement(e.name))
+					continue;
+				trace("Adding element " + e.name + " in subset");
+				if (!plan.addElement(uri, e.representation ? headElement : null))
+					continue;
+				if (!e.representation && !row.typeName.equals("") && isNiemElementInType(row.typeName, e.name))
+					plan.addElementInType(resolveName(row.typeName), uri, row.multiplicity);
+			}
+		}
+		return plan;
+	}
+
+	// read the NIEM mapping of the items once, in the order of the model, for the phases of
+	// createSubsetAndExtension
+	private static List<MappingRow> mappingRows() {
+		List<MappingRow> rows = new ArrayList<MappingRow>();
+		for (int i = 0; i < UmlItem.all.size(); i++) {
+			UmlItem c = (UmlItem) UmlItem.all.elementAt(i);
+			if (c.stereotype().equals(niemStereotype))
+				rows.add(new MappingRow(c,
+						c.propertyValue(niemProperty(5)).trim(),
+						c.propertyValue(niemProperty(6)).trim(),
+						c.propertyValue(niemProperty(7)).trim(),
+						c.propertyValue(niemProperty(8)).trim(),
+						c.description().trim(),
+						c.propertyValue(niemProperty(11)).trim(),
+						c.propertyValue(niemProperty(12)).trim()));
+		}
+		return Collections.unmodifiableList(rows);
+	}
+
 	// reset NIEM mappings
 	public static void deleteMapping() {
+		UmlCom.set_phase("delete mapping");
 		@SuppressWarnings("unchecked")
 		Iterator<UmlItem> it = UmlItem.all.iterator();
 		while (it.hasNext()) {
@@ -1194,6 +1437,15 @@ class NiemTools {
 		}
 		for (UmlItem item : referencePackage.children())
 			item.deleteIt();
+		modelChanged(referencePackage);
+		// the snapshot and the index of the reference model no longer match
+		String stamp = referencePackage.propertyValue(snapshotProperty);
+		if (stamp != null && !stamp.equals(""))
+			referencePackage.set_PropertyValue(snapshotProperty, "");
+		stamp = referencePackage.propertyValue(indexProperty);
+		if (stamp != null && !stamp.equals(""))
+			referencePackage.set_PropertyValue(indexProperty, "");
+		referenceIndex = null;
 	}
 
 	// delete PIM model
@@ -1227,6 +1479,7 @@ class NiemTools {
 		}
 		for (UmlItem item : subsetPackage.children())
 			item.deleteIt();
+		modelChanged(subsetPackage);
 
 		// Delete package "NIEMExtension"
 		for (UmlItem ch : pimPackage.children()) {
@@ -1240,10 +1493,11 @@ class NiemTools {
 		}
 		for (UmlItem item : extensionPackage.children())
 			item.deleteIt();
+		modelChanged(extensionPackage);
 	}
 
 	// generate Genericode code list
-	public static void exportCodeList(String dir, String elementName, String codeListURI, String codeList, String version, String date)
+	public static void exportCodeList(String dir, String elementName, String codeListURI, CodeList codeList, String version, String date)
 	{
 		try {
 			FileWriter fw;
@@ -1269,17 +1523,12 @@ class NiemTools {
 					+ "<Key Id=\"codeKey\"><ShortName>CodeKey</ShortName><ColumnRef Ref=\"code\"/></Key>"
 					+ "</ColumnSet>"
 					+ "<SimpleCodeList>");
-			if (codeList.contains(codeListDelimiter))
-			{	
-				String[] codes = codeList.split(codeListDelimiter);
-				for (String code : codes)
-				{
-					String[] pairs = code.split(codeListDefDelimiter);
-					fw.write("<Row><Value ColumnRef=\"code\"><SimpleValue>" + pairs[0].trim() + "</SimpleValue></Value>");
-					if (pairs.length > 1)
-						fw.write("<Value ColumnRef=\"definition\"><SimpleValue>" + pairs[1].trim() + "</SimpleValue></Value>");
-					fw.write("</Row>");
-				}
+			for (int code = 0; code < codeList.size(); code++)
+			{
+				fw.write("<Row><Value ColumnRef=\"code\"><SimpleValue>" + codeList.value(code) + "</SimpleValue></Value>");
+				if (codeList.definition(code) != null)
+					fw.write("<Value ColumnRef=\"definition\"><SimpleValue>" + codeList.definition(code) + "</SimpleValue></Value>");
+				fw.write("</Row>");
 			}
 			fw.write("</SimpleCodeList></gc:CodeList>");
 			fw.close();
@@ -1295,7 +1544,7 @@ class NiemTools {
 	// generate NIEM mapping spreadsheet in CSV format
 	// roundtripping is supported with importCsv()
 	public static void exportCsv(String dir, String filename, String externalSchemas) {
-
+		UmlCom.set_phase("export CSV");
 		setExternalSchemas(externalSchemas);
 
 		UmlItem.directory = dir;
@@ -1329,7 +1578,9 @@ class NiemTools {
 					writer.writeNext(nextLine);
 
 					// Export NIEM Mapping for Attributes and Relations
-					for (UmlItem ch : c.children())
+					for (int chIndex = 0; chIndex < c.childrenCount(); chIndex++)
+					{
+						UmlItem ch = c.childAt(chIndex);
 						if (ch.stereotype().equals(niemStereotype)) {
 							nextLine = itemCsv(ch);
 							if (nextLine != null) {
@@ -1339,6 +1590,7 @@ class NiemTools {
 								writer.writeNext(nextLine);
 							}
 						}
+					}
 				}
 			}
 			writer.close();
@@ -1350,7 +1602,7 @@ class NiemTools {
 
 	// generate NIEM mapping spreadsheet in HTML format
 	public static void exportHtml(String dir, String filename, String externalSchemas) {
-
+		UmlCom.set_phase("export HTML");
 		setExternalSchemas(externalSchemas);
 		// cache NIEM namespaces, elements and types
 		cacheModel(referencePackage);
@@ -1372,9 +1624,12 @@ class NiemTools {
 					writeLineHtml(fw, c);
 
 					// Show NIEM Mapping for Attributes and Relations
-					for (UmlItem ch : c.children())
+					for (int chIndex = 0; chIndex < c.childrenCount(); chIndex++)
+					{
+						UmlItem ch = c.childAt(chIndex);
 						if (ch.stereotype().equals(niemStereotype))
 							writeLineHtml(fw, ch);
+					}
 				}
 			}
 			fw.write("</table>\n");
@@ -1387,7 +1642,7 @@ class NiemTools {
 
 	// generate extension and exchange schema
 	public static void exportSchema(String dir, String IEPDURI, String IEPDName, String IEPDVersion, String IEPDStatus, String IEPDOrganization, String IEPDContact, String externalSchemas) {
-
+		UmlCom.set_phase("export schema");
 		setExternalSchemas(externalSchemas);
 		cacheModel(referencePackage);
 		cacheModel(subsetPackage);
@@ -1402,7 +1657,9 @@ class NiemTools {
 			Set<String> CodeListNamespaces = new HashSet<String>();
 
 			// export each schema
-			for (UmlItem item: extensionPackage.children())
+			for (int itemIndex = 0; itemIndex < extensionPackage.childrenCount(); itemIndex++)
+			{
+				UmlItem item = extensionPackage.childAt(itemIndex);
 				if (item.kind() == anItemKind.aClassView)
 				{
 					UmlClassView cv = (UmlClassView)item;
@@ -1416,11 +1673,15 @@ class NiemTools {
 					Set<String> RefNamespaces = new TreeSet<String>();
 					RefNamespaces.add(xmlPrefix);
 					//RefNamespaces.add(structuresPrefix);
-					for (UmlItem item2 : cv.children())
+					for (int item2Index = 0; item2Index < cv.childrenCount(); item2Index++)
+					{
+						UmlItem item2 = cv.childAt(item2Index);
 						if (item2.kind() == anItemKind.aClass)
 						{
 							UmlClass c = (UmlClass)item2;
-							for (UmlItem item3 : c.children())
+							for (int item3Index = 0; item3Index < c.childrenCount(); item3Index++)
+							{
+								UmlItem item3 = c.childAt(item3Index);
 								if (item3.kind() == anItemKind.aRelation)
 								{
 									UmlRelation r = (UmlRelation)item3;
@@ -1431,11 +1692,14 @@ class NiemTools {
 										break;
 									}
 								}
-							for (UmlItem item4 : c.children())
+							}
+							for (int item4Index = 0; item4Index < c.childrenCount(); item4Index++)
+							{
+								UmlItem item4 = c.childAt(item4Index);
 								if (item4.kind() == anItemKind.anAttribute)
 								{
 									UmlAttribute a = (UmlAttribute)item4;
-									String elementUri = a.propertyValue(uriProperty);
+									QualifiedName elementUri = qualifiedName(a);
 									UmlClassInstance ci;
 									if (SubsetElements.containsKey(elementUri))
 										ci = (UmlClassInstance)SubsetElements.get(elementUri);
@@ -1443,8 +1707,12 @@ class NiemTools {
 										ci = (UmlClassInstance)ExtensionElements.get(elementUri);
 									RefNamespaces.add(ci.parent().name());
 								}
+							}
 						}
-					for (UmlItem item2 : cv.children())
+					}
+					for (int item2Index = 0; item2Index < cv.childrenCount(); item2Index++)
+					{
+						UmlItem item2 = cv.childAt(item2Index);
 						if (item2.kind() == anItemKind.aClassInstance)
 						{
 							UmlClassInstance ci = (UmlClassInstance)item2;
@@ -1454,6 +1722,7 @@ class NiemTools {
 							if (headElement != null)
 								RefNamespaces.add(getPrefix(headElement));
 						}
+					}
 
 					// Open file for each extension schema and write header
 					fw = new FileWriter(dir + "/" + prefix + ".xsd");
@@ -1498,7 +1767,9 @@ class NiemTools {
 						}
 					}
 					// export types
-					for (UmlItem item2 : cv.children())
+					for (int item2Index = 0; item2Index < cv.childrenCount(); item2Index++)
+					{
+						UmlItem item2 = cv.childAt(item2Index);
 						if (item2.kind() == anItemKind.aClass)
 						{
 							UmlClass c = (UmlClass)item2;
@@ -1514,7 +1785,9 @@ class NiemTools {
 									+ "</xs:annotation>\n"
 									+ "<xs:complexContent>\n");
 							String augmentationPoint = null, augmentationPointMin = null, augmentationPointMax = null;
-							for (UmlItem item3 : c.children())
+							for (int item3Index = 0; item3Index < c.childrenCount(); item3Index++)
+							{
+								UmlItem item3 = c.childAt(item3Index);
 								if (item3.kind() == anItemKind.aRelation)
 								{
 									UmlRelation r = (UmlRelation)item3;
@@ -1525,17 +1798,20 @@ class NiemTools {
 										break;
 									}
 								}
+							}
 							//if (typeName.endsWith("AugmentationType"))
 							//	baseTypeName = "structures:AugmentationType";
 							if (baseTypeName.equals(""))
 								UmlCom.trace("exportSchema: type " + prefix + namespaceDelimiter + typeName + " has no base type");
 							fw.write("<xs:extension base=\"" + baseTypeName + "\">\n<xs:sequence>\n");
 							c.sortChildren();
-							for (UmlItem item4 : c.children())
+							for (int item4Index = 0; item4Index < c.childrenCount(); item4Index++)
+							{
+								UmlItem item4 = c.childAt(item4Index);
 								if (item4.kind() == anItemKind.anAttribute)
 								{
 									UmlAttribute a = (UmlAttribute)item4;
-									String elementUri = a.propertyValue(uriProperty);
+									QualifiedName elementUri = qualifiedName(a);
 									UmlClassInstance ci;
 									if (SubsetElements.containsKey(elementUri))
 										ci = (UmlClassInstance)SubsetElements.get(elementUri);
@@ -1576,14 +1852,18 @@ class NiemTools {
 										} else
 											fw.write("<xs:element ref=\"" + elementName + "\" minOccurs=\"" + minoccurs + "\" maxOccurs=\"" + maxoccurs + "\"/>\n");
 								}
+							}
 							//	fw.write("<xs:element ref=\"" + elementName + "\" minOccurs=\"" + minoccurs + "\" maxOccurs=\"" + maxoccurs + "\"/>");
 							if (augmentationPoint != null)
 								fw.write("<xs:element ref=\"" + augmentationPoint + "\" minOccurs=\"" + augmentationPointMin + "\" maxOccurs=\"" + augmentationPointMax + "\"/>\n");
 							fw.write("</xs:sequence>\n</xs:extension>\n</xs:complexContent>\n</xs:complexType>\n");
 						}
+					}
 
 					// export elements
-					for (UmlItem item2 : cv.children())
+					for (int item2Index = 0; item2Index < cv.childrenCount(); item2Index++)
+					{
+						UmlItem item2 = cv.childAt(item2Index);
 						if (item2.kind() == anItemKind.aClassInstance)
 						{
 							UmlClassInstance ci = (UmlClassInstance)item2;
@@ -1612,22 +1892,28 @@ class NiemTools {
 								fw.write("<xs:appinfo>"
 										+ "<clsa:SimpleCodeListBinding codeListURI=\"" + codeListURI + "\" columnName=\"code\"/>"
 										+" </xs:appinfo>");
-								exportCodeList(dir, elementName, codeListURI, codeList, IEPDVersion, today);
+								exportCodeList(dir, elementName, codeListURI, CodeList.parse(codeList), IEPDVersion, today);
 								CodeListNamespaces.add(elementName);
 							}
 							fw.write("</xs:annotation></xs:element>\n");
 						}
+					}
 					fw.write("</xs:schema>\n");
 					fw.close();
 				}
+			}
 
 			// export code lists for subset elements
-			for (UmlItem item: subsetPackage.children())
+			for (int itemIndex = 0; itemIndex < subsetPackage.childrenCount(); itemIndex++)
+			{
+				UmlItem item = subsetPackage.childAt(itemIndex);
 				if (item.kind() == anItemKind.aClassView)
 				{
 					UmlClassView cv = (UmlClassView)item;
 					cv.sort();
-					for (UmlItem item2 : cv.children())
+					for (int item2Index = 0; item2Index < cv.childrenCount(); item2Index++)
+					{
+						UmlItem item2 = cv.childAt(item2Index);
 						if (item2.kind() == anItemKind.aClassInstance)
 						{
 							UmlClassInstance ci = (UmlClassInstance)item2;
@@ -1636,11 +1922,13 @@ class NiemTools {
 							if (codeList != null) 
 							{
 								String codeListURI = extensionSchema(elementName);
-								exportCodeList(dir, elementName, codeListURI, codeList, IEPDVersion, today);
+								exportCodeList(dir, elementName, codeListURI, CodeList.parse(codeList), IEPDVersion, today);
 								CodeListNamespaces.add(elementName);
 							}
 						}
+					}
 				}
+			}
 
 			// export catalog file
 			UmlCom.trace("Generating XML catalog");
@@ -1680,8 +1968,9 @@ class NiemTools {
 					String portName = c.name();
 					ports.put(portName, c);
 					trace("Port: " + c.name());
-					for (UmlItem item2 : c.children())
+					for (int item2Index = 0; item2Index < c.childrenCount(); item2Index++)
 					{
+						UmlItem item2 = c.childAt(item2Index);
 						if (item2.kind() == anItemKind.anOperation)
 						{
 							UmlOperation operation = (UmlOperation)item2;
@@ -1925,8 +2214,9 @@ class NiemTools {
 				//			for (UmlOperation operation : operations.values())
 				//			{   
 				//				String operationName = operation.name();
-				for (UmlItem item : port.children())
+				for (int itemIndex = 0; itemIndex < port.childrenCount(); itemIndex++)
 				{
+					UmlItem item = port.childAt(itemIndex);
 					if (item.kind() == anItemKind.anOperation)
 					{
 						UmlOperation operation = (UmlOperation)item;
@@ -1945,8 +2235,9 @@ class NiemTools {
 				//			{
 				//				String portName = port.name();
 				fw.write("<portType name=\"" + portName + "\">");
-				for (UmlItem item : port.children())
+				for (int itemIndex = 0; itemIndex < port.childrenCount(); itemIndex++)
 				{
+					UmlItem item = port.childAt(itemIndex);
 					if (item.kind() == anItemKind.anOperation)
 					{
 						UmlOperation operation = (UmlOperation)item;
@@ -1967,8 +2258,9 @@ class NiemTools {
 				fw.write("<binding name=\"" + portName + "Soap\" type=\"tns:" + portName + "\">"
 						+ "<wsp:PolicyReference URI=\"#MyPolicy\"/>"
 						+ "<soap:binding style=\"document\" transport=\"http://schemas.xmlsoap.org/soap/http\"/>");
-				for (UmlItem item : port.children())
+				for (int itemIndex = 0; itemIndex < port.childrenCount(); itemIndex++)
 				{
+					UmlItem item = port.childAt(itemIndex);
 					if (item.kind() == anItemKind.anOperation)
 					{
 						UmlOperation oper = (UmlOperation)item;
@@ -1997,7 +2289,7 @@ class NiemTools {
 
 	// generate NIEM wantlist for import into Subset Schema Generator Tool (SSGT)
 	public static void exportWantlist(String dir, String filename, String externalSchemas) {
-
+		UmlCom.set_phase("export wantlist");
 		//createSubset();
 		setExternalSchemas(externalSchemas);
 
@@ -2009,7 +2301,9 @@ class NiemTools {
 			fw.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
 			fw.write("<!-- NIEM wantlist generated by BOUML niemtools plug_out (https://github.com/cabralje/niem-tools) -->\n");
 			fw.write("<w:WantList w:release=\"3.2\" w:product=\"NIEM\" w:nillableDefault=\"true\" ");
-			for (UmlItem item: subsetPackage.children())
+			for (int itemIndex = 0; itemIndex < subsetPackage.childrenCount(); itemIndex++)
+			{
+				UmlItem item = subsetPackage.childAt(itemIndex);
 				if (item.kind() == anItemKind.aClassView)
 				{
 					String prefix = item.name();
@@ -2017,17 +2311,22 @@ class NiemTools {
 					if (!prefix.equals(localPrefix))
 						fw.write(" xmlns:" + prefix+ "=\"" + schemaURI + "\"");
 				}
+			}
 			fw.write(" xmlns:w=\"http://niem.gov/niem/wantlist/2.2\">\n");
 
 			// export elements
-			for (UmlItem item: subsetPackage.children())
+			for (int itemIndex = 0; itemIndex < subsetPackage.childrenCount(); itemIndex++)
+			{
+				UmlItem item = subsetPackage.childAt(itemIndex);
 				if (item.kind() == anItemKind.aClassView)
 				{
 					UmlClassView cv = (UmlClassView)item;
 					String prefix = cv.name();
 					if (prefix.equals(localPrefix))
 						continue;
-					for (UmlItem item2 : cv.children())
+					for (int item2Index = 0; item2Index < cv.childrenCount(); item2Index++)
+					{
+						UmlItem item2 = cv.childAt(item2Index);
 						if (item2.kind() == anItemKind.aClassInstance)
 						{
 							UmlClassInstance ci = (UmlClassInstance)item2;
@@ -2041,10 +2340,14 @@ class NiemTools {
 							fw.write("<w:Element w:name=\"" + prefix + namespaceDelimiter + elementName
 									+ "\" w:isReference=\"false\" w:nillable=\"" + isNillable + "\"/>\n");							
 						}
+					}
 				}
+			}
 
 			// export types
-			for (UmlItem item: subsetPackage.children())
+			for (int itemIndex = 0; itemIndex < subsetPackage.childrenCount(); itemIndex++)
+			{
+				UmlItem item = subsetPackage.childAt(itemIndex);
 				if (item.kind() == anItemKind.aClassView)
 				{
 					UmlClassView cv = (UmlClassView)item;
@@ -2052,7 +2355,9 @@ class NiemTools {
 					if (prefix.equals(localPrefix))
 						continue;
 					//String schemaURI = Prefixes.get(prefix);
-					for (UmlItem item2 : cv.children())
+					for (int item2Index = 0; item2Index < cv.childrenCount(); item2Index++)
+					{
+						UmlItem item2 = cv.childAt(item2Index);
 						if (item2.kind() == anItemKind.aClass)
 						{
 							UmlClass c = (UmlClass)item2;
@@ -2062,12 +2367,13 @@ class NiemTools {
 								continue;
 							fw.write("<w:Type w:name=\"" + prefix + namespaceDelimiter + typeName + "\" w:isRequested=\"true\">\n");
 
-							for (UmlItem item3 : c.children())
+							for (int item3Index = 0; item3Index < c.childrenCount(); item3Index++)
+							{
+								UmlItem item3 = c.childAt(item3Index);
 								if (item3.kind() == anItemKind.anAttribute)
 								{
 									UmlAttribute a = (UmlAttribute)item3;
-									String uri = a.propertyValue(uriProperty);
-									UmlClassInstance ci = (UmlClassInstance)SubsetElements.get(uri);
+									UmlClassInstance ci = (UmlClassInstance)SubsetElements.get(qualifiedName(a));
 									String elementPrefix = ci.parent().name();
 									String elementName = a.name();
 									trace("exportWantlist: adding attribute " + elementName);
@@ -2098,23 +2404,21 @@ class NiemTools {
 											+ "\" w:isReference=\"false\" w:minOccurs=\"" + minoccurs
 											+ "\" w:maxOccurs=\"" + maxoccurs + "\"/>\n");
 								}
+							}
 
 							// export enumerations
-							String codeList = c.propertyValue(codeListProperty);
+							CodeList codeList = codeList(c, SubsetCodeLists);
 							if (codeList != null)
 							{
 								trace("exportWantlist: Exporting numerations for " + c.pretty_name());
-								String[]codes = codeList.split(codeListDelimiter);
-								for (String co : codes)
-								{
-									co = co.trim();
-									if (!co.equals(""))
-										fw.write("<w:Facet w:facet=\"enumeration\" w:value=\"" + co + "\"/>");
-								}
+								for (int code = 0; code < codeList.size(); code++)
+									fw.write("<w:Facet w:facet=\"enumeration\" w:value=\"" + codeList.code(code) + "\"/>");
 							}
 							fw.write("</w:Type>");
 						} 
+					}
 				}
+			}
 
 			fw.write("</w:WantList>");
 			fw.close();
@@ -2140,8 +2444,13 @@ class NiemTools {
 
 	// get element by schemaURI and tagname
 	public static UmlClassInstance findElement(UmlPackage parentPackage, String schemaURI, String tagName) {
-		String tagName2 = tagName.replace("-", "");
-		String uri = schemaURI + hashDelimiter + tagName2;
+		return findElement(parentPackage, QualifiedName.find(schemaURI, tagName));
+	}
+
+	// get element by qualified name
+	public static UmlClassInstance findElement(UmlPackage parentPackage, QualifiedName uri) {
+		if (uri == null)
+			return null;
 		if (parentPackage == referencePackage)
 			return (UmlClassInstance) NiemElements.get(uri);
 		else if (parentPackage == subsetPackage)
@@ -2152,13 +2461,13 @@ class NiemTools {
 	}
 
 	// get element by prefix and tagname
-	public static UmlClassInstance findElementByPrefix(Document doc, UmlPackage parentPackage, String tagName) {
+	public static UmlClassInstance findElementByPrefix(XmlSchema schema, UmlPackage parentPackage, String tagName) {
 		String prefix = getPrefix(tagName);
 		String schemaURI;
 		if (prefix.equals(""))
 			schemaURI = XMLConstants.W3C_XML_SCHEMA_NS_URI;
 		else
-			schemaURI = doc.lookupNamespaceURI(prefix);
+			schemaURI = schema.lookupNamespaceURI(prefix);
 		String typeName = getName(tagName);
 
 		UmlClassInstance ci = findElement(parentPackage, schemaURI, typeName);
@@ -2176,7 +2485,8 @@ class NiemTools {
 	// get type by schemaURI and tagname
 	public static UmlClass findType(UmlPackage parentPackage, String schemaURI, String tagName) 
 	{
-		trace("findType: " + schemaURI + namespaceDelimiter + tagName);
+		if (_TRACE)
+			trace("findType: " + schemaURI + namespaceDelimiter + tagName);
 		if (tagName.equals("abstract"))
 		{
 			if (parentPackage == referencePackage)
@@ -2184,9 +2494,14 @@ class NiemTools {
 			else
 				return subsetAbstractType;
 		}
-		String tagName2 = tagName.replace("-", "");
-		String uri = schemaURI + hashDelimiter + tagName2;
+		return findType(parentPackage, QualifiedName.find(schemaURI, tagName));
+	}
 
+	// get type by qualified name
+	public static UmlClass findType(UmlPackage parentPackage, QualifiedName uri)
+	{
+		if (uri == null)
+			return null;
 		if (parentPackage == referencePackage)
 			return (UmlClass) NiemTypes.get(uri);
 		else if (parentPackage == subsetPackage)
@@ -2198,7 +2513,7 @@ class NiemTools {
 	}
 
 	// get type by prefix and tagname
-	public static UmlClass findTypeByPrefix(Document doc, UmlPackage parentPackage, String tagName) {
+	public static UmlClass findTypeByPrefix(XmlSchema schema, UmlPackage parentPackage, String tagName) {
 		if (tagName.equals("abstract"))
 			if (parentPackage == referencePackage)
 				return referenceAbstractType;
@@ -2211,7 +2526,7 @@ class NiemTools {
 		else if (prefix.equals(localPrefix))
 			schemaURI = localPrefix;
 		else
-			schemaURI = doc.lookupNamespaceURI(prefix);
+			schemaURI = schema.lookupNamespaceURI(prefix);
 		String typeName = getName(tagName);
 
 		return findType(parentPackage, schemaURI, typeName);
@@ -2233,6 +2548,26 @@ class NiemTools {
 		return (i >= 0) ? typeName.substring(0, i).trim() : "";
 	}
 
+	// return the qualified name of an item from its URI property, null if it has none
+	private static QualifiedName qualifiedName(UmlItem item) {
+		return QualifiedName.parse(item.propertyValue(uriProperty));
+	}
+
+	// return the qualified name of prefix:name with the prefixes of the model, null if the prefix is
+	// unknown or external, the names are cached until the prefixes change
+	private static QualifiedName resolveName(String prefixedName) {
+		QualifiedName qn = PrefixedNames.get(prefixedName);
+		if (qn == null) {
+			String prefix = getPrefix(prefixedName);
+			String schemaURI = Prefixes.get(prefix);
+			if (schemaURI == null || isExternalPrefix(prefix))
+				return null;
+			qn = QualifiedName.of(schemaURI, getName(prefixedName));
+			PrefixedNames.put(prefixedName, qn);
+		}
+		return qn;
+	}
+
 	// hide reference model from documentation
 	public static void hideReferenceModel()
 	{
@@ -2242,14 +2577,19 @@ class NiemTools {
 	// hide item from documentation
 	public static void hideItem(UmlItem item)
 	{
+		if (!item.children_read_())
+			UmlItem.prefetch(item, Integer.MAX_VALUE);
 		item.known = false;
-		for (UmlItem child : item.children())
+		for (int childIndex = 0; childIndex < item.childrenCount(); childIndex++)
+		{
+			UmlItem child = item.childAt(childIndex);
 			hideItem(child);
+		}
 	}
 
 	// import NIEM mapping spreadsheet in CSV format
 	public static void importCsv(String filename, String externalSchemas) {
-
+		UmlCom.set_phase("import CSV");
 		setExternalSchemas(externalSchemas);
 		// Cache UML classes
 		Map<String, UmlClass> UMLClasses = new HashMap<String, UmlClass>();
@@ -2295,10 +2635,13 @@ class NiemTools {
 								c.set_PropertyValue(niemProperty(p), nextLine[p]);
 						} else {
 							// Import NIEM Mapping to Attribute
-							for (UmlItem item : c.children())
+							for (int itemIndex = 0; itemIndex < c.childrenCount(); itemIndex++)
+							{
+								UmlItem item = c.childAt(itemIndex);
 								if (item.stereotype().equals(niemStereotype) && (item.pretty_name().equals(attributeName)))
 									for (int p = 4; p < map.length && p < nextLine.length; p++)
 										item.set_PropertyValue(niemProperty(p), nextLine[p]);
+							}
 						}
 					}
 				} else if (!attributeName.equals(""))
@@ -2322,280 +2665,504 @@ class NiemTools {
 	}
 
 	// import NIEM reference model elements into HashMaps
-	public static Namespace importElements(DocumentBuilder db, String filename) {
-		trace("Importing elements from schema " + filename);
-		String fn = "\n" + filename + "\n";
-		Namespace ns = null;
-		try {
-			// parse the schema
-			Document doc = db.parse(new File(filename));
-			xPath.setNamespaceContext(new NamespaceResolver(doc, true));
-			ns = importNamespaces(doc);
-
-			// compile XPath queries
-			XPathExpression xe = xPath.compile("xs:annotation[1]/xs:documentation[1]");
-
-			// import elements
-			NodeList list = (NodeList) xPath.evaluate("xs:element[@name]", doc.getDocumentElement(),
-					XPathConstants.NODESET);
-			for (int i = 0; i < list.getLength(); i++) {
-				Element e = (Element) list.item(i);
-				String en = e.getAttribute("name");
-				String et = e.getAttribute("type");
-				if (et.equals(""))
-					et = localPrefix + namespaceDelimiter + abstractTypeName;
-				try {
-					UmlClassInstance ci = addElement(doc, ns.referenceClassView, ns.schemaURI, en, et, xe.evaluate(e));
-					if (ci != null)
-						NiemElements.put(ci.propertyValue(uriProperty), ci);
-				} catch (Exception re) {
-					UmlCom.trace(fn + "importElements: cannot create element " + en + " of type " + et + " "
-							+ re.toString());
-					fn = "";
-				}
+	public static Namespace importElements(XmlSchema schema) {
+		trace("Importing elements from schema " + schema.filename);
+		String fn = "\n" + schema.filename + "\n";
+		Namespace ns = importNamespaces(schema);
+		if (ns == null) {
+			UmlCom.trace(fn + "importElements: target namespace not found");
+			return null;
+		}
+
+		// import elements
+		for (XmlSchema.ElementDef e : schema.elements) {
+			String en = e.name;
+			String et = e.type;
+			if (et.equals(""))
+				et = localPrefix + namespaceDelimiter + abstractTypeName;
+			try {
+				UmlClassInstance ci = addElement(schema, ns.referenceClassView, ns.schemaURI, en, et, e.description);
+				if (ci != null)
+					NiemElements.put(qualifiedName(ci), ci);
+			} catch (Exception re) {
+				UmlCom.trace(fn + "importElements: cannot create element " + en + " of type " + et + " "
+						+ re.toString());
+				fn = "";
 			}
-		} catch (Exception e) {
-			UmlCom.trace(fn + "importElements: " + e.toString());
-			fn = "";
 		}
 
 		return ns;
 	}
 
 	// import NIEM reference model elements in Types into HashMaps
-	public static Namespace importElementsInTypes(DocumentBuilder db, String filename) {
-		trace("Importing elements in types from schema " + filename);
-		String fn = "\n" + filename + "\n";
-		Document doc = null;
-		Namespace ns = null;
-		try {
-			// parse the schema
-			doc = db.parse(new File(filename));
-			xPath.setNamespaceContext(new NamespaceResolver(doc, true));
-			ns = importNamespaces(doc);
-		} catch (Exception e) {
-			UmlCom.trace(filename + "\nimportElementsInTypes: parse the schema " + e.toString());
-		}
-
-		Node root = null;
-		NodeList list = null;
-		String en = null;
-		// import base types for simple types (codes)
-		try {
-			root = doc.getDocumentElement();
-			list = (NodeList) xPath.evaluate("xs:simpleType[@name]/xs:restriction[1][@base]", root,
-					XPathConstants.NODESET);
-			for (int i = 0; i < list.getLength(); i++) {
-				Element r = (Element) list.item(i);
-				Element s = (Element) r.getParentNode();
-				en = s.getAttribute("name");
-				String pt = r.getAttribute("base");
-
-				UmlClass c = findType((UmlPackage) (ns.referenceClassView.parent()), ns.schemaURI, en);
-				if (c == null) {
-					UmlCom.trace(fn + "importElementsInType: type not found: " + en);
-					fn = "";
-					continue;
-				}
-				UmlClass p = findTypeByPrefix(doc, (UmlPackage) (ns.referenceClassView.parent()), pt);
-				if (p == null) {
-					UmlCom.trace(fn + "importElementsInType: base type not found: " + pt);
-					fn = "";
-					continue;
-				}
-				try {
-					UmlBaseRelation.create(aRelationKind.aGeneralisation, c, p);
-				} catch (Exception re) {
-					UmlCom.trace(fn = "importElementsInType: cannot relate " + en + " to " + pt + " " + re.toString());
-					fn = "";
-				}
-			}
-		} catch (Exception e) {
-			UmlCom.trace(filename + "\nimportElementsInTypes: import base types for smple types " + e.toString());
-		}
-
-		// import base types for complex types (codes)
-		try {
-			list = (NodeList) xPath.evaluate("xs:complexType[@name]/xs:simpleContent[1]/xs:extension[1][@base]", root,
-					XPathConstants.NODESET);
-			for (int i = 0; i < list.getLength(); i++) {
-				Element e = (Element) list.item(i);
-				Element ct = (Element) e.getParentNode().getParentNode();
-				en = ct.getAttribute("name");
-				String pt = e.getAttribute("base");
-
-				UmlClass c = findType((UmlPackage) (ns.referenceClassView.parent()), ns.schemaURI, en);
-				if (c == null) {
-					UmlCom.trace(fn + "importElementsInType: type not found: " + en);
-					fn = "";
-					continue;
-				}
-				UmlClass p = findTypeByPrefix(doc, (UmlPackage) (ns.referenceClassView.parent()), pt);
-				if (p == null) {
-					UmlCom.trace(fn + "importElementsInType: base type not found: " + pt);
-					fn = "";
-					continue;
-				}
-				try {
-					UmlBaseRelation.create(aRelationKind.aGeneralisation, c, p);
-				} catch (Exception re) {
-					UmlCom.trace(fn + "importElementsInType: cannot relate " + en + " to " + pt + " " + re.toString());
-					fn = "";
-				}
-			}
-		} catch (Exception e) {
-			UmlCom.trace(filename + "\nimportElementsInTypes: base types for complex types" + e.toString());
-		}
-
-		// import base types and elements for complex types
-		try {
-			list = (NodeList) xPath.evaluate("xs:complexType[@name]/xs:complexContent[1]/xs:extension[1][@base]", root,
-					XPathConstants.NODESET);
-		} catch (Exception e) {
-			UmlCom.trace(filename + "\nimportElementsInTypes: pase base types and elements" + e.toString());
+	public static Namespace importElementsInTypes(XmlSchema schema) {
+		trace("Importing elements in types from schema " + schema.filename);
+		String fn = "\n" + schema.filename + "\n";
+		Namespace ns = importNamespaces(schema);
+		if (ns == null) {
+			UmlCom.trace(fn + "importElementsInTypes: target namespace not found");
+			return null;
 		}
-		for (int i = 0; i < list.getLength(); i++) {
-			Element e = null;
-			try {
-
-				e = (Element) list.item(i);
-				if (e == null)
-					continue;
-				Element ct = (Element) e.getParentNode().getParentNode();
-				en = ct.getAttribute("name");
-				String pt = e.getAttribute("base");
+		UmlPackage parentPackage = (UmlPackage) (ns.referenceClassView.parent());
 
-				UmlClass c = findType((UmlPackage) (ns.referenceClassView.parent()), ns.schemaURI, en);
-				if (c == null) {
-					UmlCom.trace(fn + "importElementsInType: type not found: " + en);
-					fn = "";
-					continue;
-				}
-				UmlClass p = findTypeByPrefix(doc, (UmlPackage) (ns.referenceClassView.parent()), pt);
-				if (p == null) {
-					UmlCom.trace(fn + "importElementsInType: base type not found: " + pt);
-					fn = "";
+		// import base types for simple types (codes), then base types for complex types (codes),
+		// then base types and elements for complex types
+		int[] derivations = { XmlSchema.SIMPLE_RESTRICTION, XmlSchema.SIMPLE_CONTENT_EXTENSION,
+				XmlSchema.COMPLEX_CONTENT_EXTENSION };
+		for (int derivation : derivations)
+			for (XmlSchema.TypeDef t : schema.types) {
+				if (t.derivation != derivation)
 					continue;
-				}
+				String en = t.name;
+				String pt = t.base;
 				try {
-					UmlBaseRelation.create(aRelationKind.aGeneralisation, c, p);
-				} catch (Exception re) {
-					UmlCom.trace(fn + "importElementsInType: cannot relate " + en + " to " + pt + " " + re.toString());
-					fn = "";
-				}
-			} catch (Exception re) {
-				UmlCom.trace(filename + "\nimportElementsInTypes: import base types and elements  " + re.toString());
-			}
-
-			// import elements in type
-			try {
-				String uri = ns.schemaURI + hashDelimiter + en;
-				List<UmlClassInstance> enlist = (List<UmlClassInstance>) (NiemElementsInType
-						.get(uri));
-				if (enlist == null) {
-					enlist = new ArrayList<UmlClassInstance>();
-					NiemElementsInType.put(uri, enlist);
-				}
-				NodeList elist = (NodeList) xPath.evaluate("xs:sequence[1]/xs:element[@ref]", e,
-						XPathConstants.NODESET);
-				if (elist == null)
-					continue;
-				for (int j = 0; j < elist.getLength(); j++) {
-					Element e2 = (Element) elist.item(j);
-					String et = e2.getAttribute("ref");
-					String minOccurs = e2.getAttribute("minOccurs");
-					if (minOccurs.equals(""))
-						minOccurs = "1";
-					String maxOccurs = e2.getAttribute("maxOccurs");
-					if (maxOccurs.equals(""))
-						maxOccurs = "1";
-					String multiplicity = minOccurs + "," + maxOccurs;
-					UmlAttribute a = null;
-					try {
-						a = addElementInType(doc, ns.referenceClassView, ns.schemaURI, en, et, multiplicity);
-					} catch (Exception re) {
-						UmlCom.trace(fn + "importElementsInTypes: cannot create element " + et + " in type " + en + " "
-								+ re.toString());
+					UmlClass c = findType(parentPackage, ns.schemaURI, en);
+					if (c == null) {
+						UmlCom.trace(fn + "importElementsInType: type not found: " + en);
 						fn = "";
-					}
-					if (a == null) {
-						UmlCom.trace(fn + "importElementsInTypes: cannot create element " + et + " in type " + en);
 						continue;
 					}
-					UmlClassInstance ci = null;
-					try {
-						ci = findElementByPrefix(doc, (UmlPackage) (ns.referenceClassView.parent()), et);
-					} catch (Exception re) {
-						UmlCom.trace(fn + "importElementsInTypes: cannot find element " + et + " " + re.toString());
-						fn = "";
-					}
-					if (ci == null) {
-						UmlCom.trace(fn + "importElementsInTypes: cannot find element " + et);
+					UmlClass p = findTypeByPrefix(schema, parentPackage, pt);
+					if (p == null) {
+						UmlCom.trace(fn + "importElementsInType: base type not found: " + pt);
 						fn = "";
 						continue;
 					}
 					try {
-						UmlTypeSpec ct2 = new UmlTypeSpec();
-						ct2.type = ci.type();
-						if (ct2.type != null)
-							a.set_Type(ct2);
+						UmlBaseRelation.create(aRelationKind.aGeneralisation, c, p);
 					} catch (Exception re) {
-						UmlCom.trace(filename + "\nimportElementsInTypes: set description and type " + re.toString());
+						UmlCom.trace(fn + "importElementsInType: cannot relate " + en + " to " + pt + " " + re.toString());
+						fn = "";
 					}
-					enlist.add(ci);
+				} catch (Exception re) {
+					UmlCom.trace(schema.filename + "\nimportElementsInTypes: import base types " + re.toString());
 				}
-			}
+				if (derivation != XmlSchema.COMPLEX_CONTENT_EXTENSION)
+					continue;
 
-			catch (Exception re) {
-				UmlCom.trace(filename + "\nimportElementsInTypes: import elements in type " + re.toString());
+				// import elements in type
+				try {
+					QualifiedName uri = QualifiedName.of(ns.schemaURI, en);
+					Set<UmlClassInstance> enlist = (NiemElementsInType
+							.get(uri));
+					if (enlist == null) {
+						enlist = new LinkedHashSet<UmlClassInstance>();
+						NiemElementsInType.put(uri, enlist);
+					}
+					for (XmlSchema.ElementRef r : t.elementRefs) {
+						String et = r.ref;
+						String multiplicity = r.minOccurs + "," + r.maxOccurs;
+						UmlAttribute a = null;
+						try {
+							a = addElementInType(schema, ns.referenceClassView, ns.schemaURI, en, et, multiplicity);
+						} catch (Exception re) {
+							UmlCom.trace(fn + "importElementsInTypes: cannot create element " + et + " in type " + en + " "
+									+ re.toString());
+							fn = "";
+						}
+						if (a == null) {
+							UmlCom.trace(fn + "importElementsInTypes: cannot create element " + et + " in type " + en);
+							continue;
+						}
+						UmlClassInstance ci = null;
+						try {
+							ci = findElementByPrefix(schema, parentPackage, et);
+						} catch (Exception re) {
+							UmlCom.trace(fn + "importElementsInTypes: cannot find element " + et + " " + re.toString());
+							fn = "";
+						}
+						if (ci == null) {
+							UmlCom.trace(fn + "importElementsInTypes: cannot find element " + et);
+							fn = "";
+							continue;
+						}
+						try {
+							UmlTypeSpec ct2 = new UmlTypeSpec();
+							ct2.type = ci.type();
+							if (ct2.type != null)
+								a.set_Type(ct2);
+						} catch (Exception re) {
+							UmlCom.trace(schema.filename + "\nimportElementsInTypes: set description and type " + re.toString());
+						}
+						enlist.add(ci);
+					}
+				} catch (Exception re) {
+					UmlCom.trace(schema.filename + "\nimportElementsInTypes: import elements in type " + re.toString());
+				}
 			}
-		}
 
 		return ns;
 	}
 
 	// import namespaces and return target namespace
-	public static Namespace importNamespaces(Document doc) {
+	public static Namespace importNamespaces(XmlSchema schema) {
 		// reset prefixes
 		// Prefixes.clear();
 
-		NamedNodeMap nslist = doc.getDocumentElement().getAttributes();
-		for (int i = 0; i < nslist.getLength(); i++) {
-			Node attr = nslist.item(i);
-			String aname = attr.getNodeName();
-			if (aname.startsWith("xmlns")) {
-				String prefix = (aname.equals("xmlns")) ? attr.getNodeValue() : aname.substring(6);
-				addNamespace(referencePackage, prefix, attr.getNodeValue());
-			}
+		for (Entry<String, String> declaration : schema.namespaces.entrySet()) {
+			String prefix = (declaration.getKey().equals("")) ? declaration.getValue() : declaration.getKey();
+			addNamespace(referencePackage, prefix, declaration.getValue());
 		}
 
 		// get target namespace
 		Namespace ns = null;
 		try {
-			String schemaURI = xPath.evaluate("xs:schema/@targetNamespace", doc);
-			ns = Namespaces.get(schemaURI);
+			ns = Namespaces.get(schema.targetNamespace);
 			if (ns == null)
 				return findNamespace(localPrefix);
 
 			// set namespace description
-			ns.referenceClassView
-			.set_Description(xPath.evaluate("xs:schema/xs:annotation[1]/xs:documentation[1]", doc));
+			ns.referenceClassView.set_Description(schema.description);
 		} catch (NullPointerException re) {
-			UmlCom.trace("importTypes: null pointer ");
+			UmlCom.trace("importNamespaces: null pointer ");
 		} catch (Exception e) {
 			UmlCom.trace("importNamespaces: " + e.toString());
 		}
 		return ns;
 	}
 
+	// set the file of the snapshot of the reference model index, null or "" to not use a snapshot
+	public static void setReferenceSnapshot(String filename) {
+		referenceSnapshot = (filename == null || filename.equals("")) ? null : filename;
+	}
+
+	// read the snapshot of the reference model index, return false if there is none matching the
+	// reference package
+	private static boolean readReferenceSnapshot() {
+		if (referenceSnapshot == null || !new File(referenceSnapshot).isFile())
+			return false;
+		String stamp = referencePackage.propertyValue(snapshotProperty);
+		if (stamp == null || stamp.equals(""))
+			return false;
+		// the reference package may have been changed since the snapshot was written
+		long contentStamp = referenceContentStamp();
+		if (!stamp.equals(Long.toHexString(contentStamp))) {
+			UmlCom.trace("Reference model changed since the snapshot " + referenceSnapshot);
+			return false;
+		}
+		try {
+			if (ReferenceSnapshot.read(referenceSnapshot, referencePackage.identifier_(), contentStamp,
+					Prefixes, Namespaces, NiemTypes, NiemElements, NiemElementsInType)) {
+				PrefixedNames.clear();
+				UmlCom.trace("Reference model read from snapshot " + referenceSnapshot);
+				return true;
+			}
+		} catch (Exception e) {
+			UmlCom.trace("cacheModel: cannot read snapshot " + referenceSnapshot + " " + e.toString());
+		}
+		return false;
+	}
+
+	// write the snapshot of the reference model index and memorize its stamp in the reference package
+	private static void writeReferenceSnapshot() {
+		if (referenceSnapshot == null)
+			return;
+		long stamp = referenceContentStamp();
+		try {
+			ReferenceSnapshot.write(referenceSnapshot, referencePackage.identifier_(), stamp,
+					Prefixes, Namespaces, NiemTypes, NiemElements, NiemElementsInType);
+			referencePackage.set_PropertyValue(snapshotProperty, Long.toHexString(stamp));
+		} catch (IOException e) {
+			UmlCom.trace("importSchemaDir: cannot write snapshot " + referenceSnapshot + " " + e.toString());
+		}
+	}
+
+	// return the stamp of the content of the reference package from its class views: their names,
+	// namespaces and hashes, and the identifiers and names of their types and elements, so a class
+	// view, a type or an element added, deleted or renamed out of importSchemaDir invalidates the
+	// snapshot
+	private static long referenceContentStamp() {
+		// read the class views in bursts, their children are then read once by class view with their
+		// identifiers and names
+		UmlItem.prefetch(referencePackage, 1);
+		Set<String> classViews = new TreeSet<String>();
+		for (int cvIndex = 0; cvIndex < referencePackage.childrenCount(); cvIndex++) {
+			UmlItem cv = referencePackage.childAt(cvIndex);
+			if (cv.kind() != anItemKind.aClassView) {
+				classViews.add(cv.kind().value() + " " + cv.name() + "\n");
+				continue;
+			}
+			StringBuilder classView = new StringBuilder();
+			classView.append(cv.name()).append('\n').append(cv.propertyValue(uriProperty)).append('\n')
+					.append(cv.propertyValue(hashProperty)).append('\n');
+			for (int chIndex = 0; chIndex < cv.childrenCount(); chIndex++) {
+				UmlItem ch = cv.childAt(chIndex);
+				classView.append(ch.kind().value()).append(' ').append(ch.identifier_()).append(' ')
+						.append(ch.name()).append('\n');
+			}
+			classViews.add(classView.toString());
+		}
+		StringBuilder content = new StringBuilder();
+		for (String classView : classViews)
+			content.append(classView);
+		return stamp(content.toString());
+	}
+
+	// return the stamp of a content, a positive long made from its SHA-1
+	private static long stamp(String content) {
+		return Long.parseLong(sha1(content.getBytes(StandardCharsets.UTF_8)).substring(0, 15), 16);
+	}
+
+	// set the file of the reference model index, null or "" to have the reference model in BOUML
+	public static void setReferenceIndex(String filename) {
+		referenceIndexFile = (filename == null || filename.equals("")) ? null : filename;
+		referenceIndex = null;
+	}
+
+	// read the reference model index if it matches the reference package
+	private static void readReferenceIndex() {
+		String stamp = referencePackage.propertyValue(indexProperty);
+		if (stamp == null || stamp.equals("") || !new File(referenceIndexFile).isFile()) {
+			UmlCom.trace("Reference model index " + referenceIndexFile + " not found, the schemas must be imported");
+			return;
+		}
+		try {
+			referenceIndex = ReferenceIndex.read(referenceIndexFile, Long.parseLong(stamp, 16));
+			if (referenceIndex == null)
+				UmlCom.trace("Reference model index " + referenceIndexFile + " does not match the project, the schemas must be imported");
+		} catch (Exception e) {
+			UmlCom.trace("cacheModel: cannot read index " + referenceIndexFile + " " + e.toString());
+		}
+	}
+
+	// parse the schemas with DOM and XPath rather than StAX, to verify the StAX reader
+	public static void setDomSchemaParser(boolean dom) {
+		domSchemaParser = dom;
+	}
+
 	// import NIEM reference model into HashMaps to support validation of NIEM
 	// elements and types
 	public static void importSchemaDir(String dir, Boolean includeEnums, String externalSchemas) throws IOException {
+		UmlCom.set_phase("import schema");
 
 		// cache reference model
 		cacheModel(referencePackage);
 		setExternalSchemas(externalSchemas);
 
+		// the current snapshot and index no longer match the reference package if the import is interrupted
+		if (referenceSnapshot != null)
+			referencePackage.set_PropertyValue(snapshotProperty, "");
+		String indexStamp = referencePackage.propertyValue(indexProperty);
+		if (indexStamp != null && !indexStamp.equals(""))
+			referencePackage.set_PropertyValue(indexProperty, "");
+		referenceIndex = null;
+
+		// Parse the schemas in parallel, only this thread talks to BOUML and imports
+		// them in the directory or archive order
+		ExecutorService parser = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+				new ThreadFactory() {
+					public Thread newThread(Runnable r) {
+						Thread t = new Thread(r, "niemtools-parser");
+						t.setDaemon(true);
+						return t;
+					}
+				});
+		final List<String[]> files = new ArrayList<String[]>();
+		List<Future<XmlSchema>> parsed = new ArrayList<Future<XmlSchema>>();
+		List<XmlSchema> schemas = new ArrayList<XmlSchema>();
+		String importRoot;
+		try {
+			String[] archive = archivePath(dir);
+			if (archive != null) {
+				importRoot = archive[0] + "!/" + archive[1];
+				parseSchemaArchive(archive[0], archive[1], parser, files, parsed);
+			} else {
+				// Walk directory to list the schemas
+				Path path = FileSystems.getDefault().getPath(dir).toAbsolutePath().normalize();
+				final String importPath = path.toString();
+				importRoot = importPath.endsWith(File.separator) ? importPath : importPath + File.separator;
+				//String importPath = "";
+				Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+					@Override
+					public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+						String filename = file.toString();
+						String filepath1 = filename.replaceFirst(java.util.regex.Matcher.quoteReplacement(importPath), "");
+						String filepath = filepath1.replaceAll(java.util.regex.Matcher.quoteReplacement("\\"), "/");
+						if (filename.endsWith(".xsd"))
+							files.add(new String[] { filename, filepath });
+						return FileVisitResult.CONTINUE;
+					}
+				});
+				for (final String[] file : files)
+					parsed.add(parser.submit(new Callable<XmlSchema>() {
+						public XmlSchema call() throws Exception {
+							return parseSchema(file[0], file[1]);
+						}
+					}));
+			}
+			parser.shutdown();
+
+			// all the content hashes are needed to know what changed
+			for (int i = 0; i < files.size(); i++)
+				schemas.add(parsedSchema(files.get(i)[0], parsed.get(i)));
+		} finally {
+			parser.shutdownNow();
+		}
+
+		if (referenceIndexFile != null)
+			indexSchemas(schemas);
+		else
+			importSchemas(schemas, includeEnums, importRoot, files);
+
+		// Sorting
+		UmlCom.trace("Sorting namespaces");
+		UmlCom.set_phase("sort");
+		referencePackage.sort();
+
+		UmlCom.trace("Namespaces: " + Namespaces.size());
+		UmlCom.trace("Types: " + NiemTypes.size());
+		UmlCom.trace("Elements: " + NiemElements.size());
+
+		writeReferenceSnapshot();
+	}
+
+	// index the parsed schemas in the indexed reference mode, only the class views of the namespaces are
+	// created in the reference package, the types and elements imported before in BOUML are deleted
+	private static void indexSchemas(List<XmlSchema> schemas) {
+		UmlCom.set_phase("delete reference model");
+		for (Namespace ns : Namespaces.values()) {
+			UmlClassView cv = ns.referenceClassView;
+			if (cv == null)
+				continue;
+			String hash = cv.propertyValue(hashProperty);
+			if (hash != null && !hash.equals(""))
+				cv.set_PropertyValue(hashProperty, "");
+			if (cv.childrenCount() == 0)
+				continue;
+			trace("Deleting types and elements of namespace " + ns.schemaURI);
+			for (UmlItem item : cv.children())
+				item.deleteIt();
+			modelChanged(referencePackage);
+		}
+		NiemTypes.clear();
+		NiemCodeLists.clear();
+		NiemElements.clear();
+		NiemElementsInType.clear();
+		referenceAbstractType = null;
+		referenceAnyElement = null;
+
+		// abstract type, XML schema simple types and xs:any element
+		ReferenceIndex index = new ReferenceIndex();
+		String xs = XMLConstants.W3C_XML_SCHEMA_NS_URI;
+		addNamespace(referencePackage, localPrefix, localPrefix);
+		addNamespace(referencePackage, xmlPrefix, xs);
+		QualifiedName abstractType = QualifiedName.of(localPrefix, abstractTypeName);
+		index.types.put(abstractType, new ReferenceIndex.Type(localPrefix, abstractTypeName, "abstract type"));
+		for (String s : xmlTypeNames)
+			index.types.put(QualifiedName.of(xs, s), new ReferenceIndex.Type(xs, s, ""));
+		index.elements.put(QualifiedName.of(xs, anyElementName), new ReferenceIndex.Element(xs, anyElementName, "",
+				abstractType));
+
+		// types
+		UmlCom.trace("\nIndexing types");
+		UmlCom.set_phase("index types");
+		List<Namespace> targets = new ArrayList<Namespace>();
+		for (XmlSchema schema : schemas) {
+			Namespace ns = (schema == null) ? null : importNamespaces(schema);
+			targets.add(ns);
+			if (ns == null)
+				continue;
+			UmlCom.trace("Indexing " + schema.filepath);
+			ns.referenceClassView.set_PropertyValue(filepathProperty, "niem" + schema.filepath);
+			for (XmlSchema.TypeDef t : schema.types) {
+				QualifiedName uri = QualifiedName.of(ns.schemaURI, t.name);
+				ReferenceIndex.Type type = index.types.get(uri);
+				if (type == null) {
+					type = new ReferenceIndex.Type(ns.schemaURI, uri.name, t.description);
+					index.types.put(uri, type);
+				}
+				if (t.simple && !t.enumerations.isEmpty()) {
+					CodeList.Builder codeList = new CodeList.Builder();
+					for (String v : t.enumerations)
+						codeList.add(v);
+					type.codeList = codeList.build().toString();
+				}
+			}
+		}
+
+		// elements, an element whose type is not found is not indexed
+		UmlCom.set_phase("index elements");
+		for (int i = 0; i < schemas.size(); i++) {
+			XmlSchema schema = schemas.get(i);
+			Namespace ns = targets.get(i);
+			if (ns == null)
+				continue;
+			for (XmlSchema.ElementDef e : schema.elements) {
+				QualifiedName uri = QualifiedName.of(ns.schemaURI, e.name);
+				if (index.elements.containsKey(uri))
+					continue;
+				String et = (e.type.equals("")) ? localPrefix + namespaceDelimiter + abstractTypeName : e.type;
+				QualifiedName type = indexedType(index, schema, et);
+				if (type == null) {
+					trace("indexSchemas: type " + et + " of element " + e.name + " not found");
+					continue;
+				}
+				index.elements.put(uri, new ReferenceIndex.Element(ns.schemaURI, uri.name, e.description, type));
+			}
+		}
+
+		// base types and elements in types
+		UmlCom.set_phase("index elements in types");
+		for (int i = 0; i < schemas.size(); i++) {
+			XmlSchema schema = schemas.get(i);
+			Namespace ns = targets.get(i);
+			if (ns == null)
+				continue;
+			for (XmlSchema.TypeDef t : schema.types) {
+				if (t.derivation == XmlSchema.NO_BASE)
+					continue;
+				QualifiedName uri = QualifiedName.of(ns.schemaURI, t.name);
+				ReferenceIndex.Type type = index.types.get(uri);
+				QualifiedName base = indexedType(index, schema, t.base);
+				if (type == null || base == null) {
+					UmlCom.trace("\n" + schema.filename + "\nindexSchemas: base type not found: " + t.base);
+					continue;
+				}
+				type.base = base;
+				if (t.derivation != XmlSchema.COMPLEX_CONTENT_EXTENSION)
+					continue;
+				Set<QualifiedName> enlist = index.elementsInType.get(uri);
+				if (enlist == null) {
+					enlist = new LinkedHashSet<QualifiedName>();
+					index.elementsInType.put(uri, enlist);
+				}
+				for (XmlSchema.ElementRef r : t.elementRefs) {
+					QualifiedName element = QualifiedName.find(namespaceOf(schema, r.ref), getName(r.ref));
+					if (element != null && index.elements.containsKey(element))
+						enlist.add(element);
+					else
+						UmlCom.trace("indexSchemas: cannot find element " + r.ref + " in type " + t.name);
+				}
+			}
+		}
+		referenceIndex = index;
+		UmlCom.trace("Indexed types: " + index.types.size() + ", elements: " + index.elements.size());
+
+		// the same schemas give the same index
+		StringBuilder content = new StringBuilder();
+		for (Entry<String, List<XmlSchema>> group : new TreeMap<String, List<XmlSchema>>(namespaceGroups(schemas))
+				.entrySet())
+			content.append(group.getKey()).append('\n').append(namespaceHash(group.getValue())).append('\n');
+		long stamp = stamp(content.toString());
+		try {
+			index.write(referenceIndexFile, stamp);
+			referencePackage.set_PropertyValue(indexProperty, Long.toHexString(stamp));
+		} catch (IOException e) {
+			UmlCom.trace("importSchemaDir: cannot write index " + referenceIndexFile + " " + e.toString());
+		}
+	}
+
+	// return the qualified name of a type of the index, resolved as findTypeByPrefix does, null if not found
+	private static QualifiedName indexedType(ReferenceIndex index, XmlSchema schema, String tagName) {
+		String typeName = getName(tagName);
+		QualifiedName uri = (typeName.equals("abstract")) ? QualifiedName.of(localPrefix, abstractTypeName)
+				: QualifiedName.find(namespaceOf(schema, tagName), typeName);
+		return (uri != null && index.types.containsKey(uri)) ? uri : null;
+	}
+
+	// import the parsed schemas as types, elements and elements in types of the reference package
+	private static void importSchemas(List<XmlSchema> schemas, Boolean includeEnums, String importRoot,
+			List<String[]> files) {
 		// import abstract types
 		UmlClassView cv;
 		if (referenceAbstractType == null)
@@ -2603,25 +3170,18 @@ class NiemTools {
 			String localUri = localPrefix;
 			cv = addNamespace(referencePackage, localPrefix, localUri);
 			referenceAbstractType = addType(cv, cv.propertyValue(uriProperty), abstractTypeName, "abstract type", "");
-			NiemTypes.put(referenceAbstractType.propertyValue(uriProperty), referenceAbstractType);
+			NiemTypes.put(qualifiedName(referenceAbstractType), referenceAbstractType);
 		}
 
 		// import XML namespace and simple types
 		cv = addNamespace(referencePackage, xmlPrefix, XMLConstants.W3C_XML_SCHEMA_NS_URI);
-		String[] xmlTypeNames = { "anyURI", "base64Binary", "blockSet", "boolean", "byte", "date", "dateTime",
-				"decimal", "derivationControl", "derivationSet", "double", "duration", "ENTITIES", "ENTITY", "float",
-				"formChoice", "fullDerivationSet", "gDay", "gMonth", "gMonthDay", "gYear", "gYearMonth", "hexBinary",
-				"int", "integer", "language", "long", "Name", "namespaceList", "NCName", "negativeInteger", "NMTOKEN",
-				"NMTOKENS", "nonNegativeInteger", "nonPositiveInteger", "normalizedString", "NOTATION",
-				"positiveInteger", "public", "QName", "short", "simpleDerivationSet", "string", "time", "token",
-				"unsignedByte", "unsignedInt", "unsignedLong", "unsignedShort" };
 		for (String s : xmlTypeNames) {
 			// UmlClass c = UmlClass.create(cv, s);
 			// NiemTypes.put(XMLConstants.W3C_XML_SCHEMA_NS_URI + hashDelimiter
 			// + s, c);
 			UmlClass type = addType(cv, XMLConstants.W3C_XML_SCHEMA_NS_URI, s, "", "");
 			if (type != null)
-				NiemTypes.put(type.propertyValue(uriProperty), type);
+				NiemTypes.put(qualifiedName(type), type);
 		}
 
 		// import xs:any element
@@ -2629,139 +3189,470 @@ class NiemTools {
 		{
 			referenceAnyElement = addElement(null, cv, XMLConstants.W3C_XML_SCHEMA_NS_URI, anyElementName, null, "");
 			if (referenceAnyElement != null)
-				NiemElements.put(referenceAnyElement.propertyValue(uriProperty), referenceAnyElement);
+				NiemElements.put(qualifiedName(referenceAnyElement), referenceAnyElement);
 		}
 
-		// Configure DOM
-		Path path = FileSystems.getDefault().getPath(dir);
-		String importPath = path.toString();
-		//String importPath = "";
+		// a namespace is imported again when the hash of its files changed, then its elements in types
+		// are imported again in the namespaces referring to it
+		Map<String, List<XmlSchema>> groups = namespaceGroups(schemas);
+		Set<String> removed = removedNamespaces(groups, importRoot, files);
+		Set<String> reimported = changedNamespaces(groups, removed);
+		Set<String> relinked = relinkedNamespaces(groups, reimported);
+		UmlCom.trace("Namespaces changed: " + reimported.size() + ", relinked: " + relinked.size() + ", unchanged: "
+				+ (groups.size() - reimported.size() - relinked.size()));
+		UmlCom.set_phase("delete changed namespaces");
+		clearNamespaces(groups, reimported, relinked);
 
 		int passes = (includeEnums) ? 4 : 3;
 
-		// Walk directory to import in passes (1: types, 2: elements, 3:
+		// Import parsed schemas in passes (1: types, 2: elements, 3:
 		// elements in types, 4: enumerations
 		for (importPass = 0; importPass < passes; importPass++) {
 			switch (NiemTools.importPass) {
 			case 0:
 				UmlCom.trace("\nImporting types");
+				UmlCom.set_phase("import types");
 				break;
 			case 1:
 				UmlCom.trace("\nImporting elements");
+				UmlCom.set_phase("import elements");
 				break;
 			case 2:
 				UmlCom.trace("\nImporting elements in types");
+				UmlCom.set_phase("import elements in types");
 				break;
 			}
-			Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
-				@Override
-				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-					// Configure DOM
-					DocumentBuilder db = null;
-					DocumentBuilderFactory docBuilderFactory = DocumentBuilderFactory.newInstance();
-					docBuilderFactory.setNamespaceAware(true);
-					try {
-						db = docBuilderFactory.newDocumentBuilder();
-					} catch (ParserConfigurationException e) {
-						UmlCom.trace("importSchemaDir: could not configure parser " + e.toString());
+			for (XmlSchema schema : schemas) {
+				if (schema == null)
+					continue;
+				if (!reimported.contains(schema.targetNamespace)
+						&& (importPass != 2 || !relinked.contains(schema.targetNamespace)))
+					continue;
+				UmlCom.trace("Importing " + schema.filepath);
+				switch (NiemTools.importPass) {
+				case 0:
+					Namespace ns = importTypes(schema);
+					if (ns != null) {
+						ns.referenceClassView.set_PropertyValue(filepathProperty, "niem" + schema.filepath);
+						ns.referenceClassView.set_PropertyValue(locationProperty, schema.filename);
 					}
+					break;
+				case 1:
+					importElements(schema);
+					break;
+				case 2:
+					importElementsInTypes(schema);
+					break;
+				}
+			}
+		}
 
-					String filename = file.toString();
-					String filepath1 = filename.replaceFirst(java.util.regex.Matcher.quoteReplacement(importPath), "");
-					String filepath = filepath1.replaceAll(java.util.regex.Matcher.quoteReplacement("\\"), "/");
-					if (filename.endsWith(".xsd"))
-					{
-						UmlCom.trace("Importing " + filepath);
-						switch (NiemTools.importPass) {
-						case 0:
-							Namespace ns = importTypes(db, filename);
-							ns.referenceClassView.set_PropertyValue(filepathProperty, "niem" + filepath);
-							break;
-						case 1:
-							importElements(db, filename);
-							break;
-						case 2:
-							importElementsInTypes(db, filename);
-							break;
-						}
+		// memorize the hashes once the namespaces are completely imported
+		for (Entry<String, List<XmlSchema>> group : groups.entrySet()) {
+			if (!reimported.contains(group.getKey()) && !relinked.contains(group.getKey()))
+				continue;
+			Namespace ns = Namespaces.get(group.getKey());
+			if (ns != null && ns.referenceClassView != null)
+				ns.referenceClassView.set_PropertyValue(hashProperty, namespaceHash(group.getValue()));
+		}
+	}
+
+	// import NIEM reference model types into HashMaps
+	public static Namespace importTypes(XmlSchema schema) {
+		trace("Importing types from schema " + schema.filename);
+		String fn = "\n" + schema.filename + "\n";
+		Namespace ns = importNamespaces(schema);
+		if (ns == null) {
+			UmlCom.trace(fn + "importTypes: target namespace not found");
+			return null;
+		}
+
+		// import types
+		for (XmlSchema.TypeDef t : schema.types) {
+			String en = t.name;
+			try {
+				UmlClass c = addType(ns.referenceClassView, ns.schemaURI, en, t.description, "");
+				if (c == null) {
+					UmlCom.trace("importTypes: cannot create type " + en);
+					continue;
+				}
+				NiemTypes.put(qualifiedName(c), c);
+				if (t.simple)
+				{
+					c.set_Stereotype("enum_pattern");
+					// import enumerated values for simple types (codes)
+					CodeList.Builder codeList = new CodeList.Builder();
+					for (String v : t.enumerations)
+						codeList.add(v);
+					CodeList cl = codeList.build();
+					if (cl.size() > 0) {
+						c.set_PropertyValue(codeListProperty, cl.toString());
+						NiemCodeLists.put(qualifiedName(c), cl);
 					}
-					return FileVisitResult.CONTINUE;
 				}
-			});
+			} catch (NullPointerException re) {
+				UmlCom.trace(fn + "importTypes: null pointer " + en);
+				fn = "";
+			} catch (Exception re) {
+				UmlCom.trace(fn + "importTypes: cannot create type " + en + " " + re.toString());
+				fn = "";
+			}
 		}
 
-		// Sorting
-		UmlCom.trace("Sorting namespaces");
-		referencePackage.sort();
+		return ns;
+	}
 
-		UmlCom.trace("Namespaces: " + Namespaces.size());
-		UmlCom.trace("Types: " + NiemTypes.size());
-		UmlCom.trace("Elements: " + NiemElements.size());
+	// parse a schema once into the types, elements and namespaces used by the import passes
+	// (called by the parser threads, must not use UmlCom)
+	public static XmlSchema parseSchema(String filename, String filepath) throws Exception {
+		return parseSchema(Files.readAllBytes(Paths.get(filename)), filename, filepath);
 	}
 
-	// import NIEM reference model types into HashMaps
-	public static Namespace importTypes(DocumentBuilder db, String filename) {
-		trace("Importing types from schema " + filename);
-		String fn = "\n" + filename + "\n";
-		Namespace ns = null;
+	// parse the content of a schema file, the file is read only once to parse it and compute its hash
+	public static XmlSchema parseSchema(byte[] content, String filename, String filepath) throws Exception {
+		XmlSchema schema;
+		if (domSchemaParser)
+			schema = parseSchemaDom(new ByteArrayInputStream(content), filename, filepath);
+		else
+			schema = XmlSchemaReader.read(new ByteArrayInputStream(content), filename, filepath);
+		schema.hash = sha1(content);
+		return schema;
+	}
+
+	// parse a schema with DOM and XPath, slower than XmlSchemaReader but kept to verify it
+	public static XmlSchema parseSchemaDom(InputStream in, String filename, String filepath) throws Exception {
+		XmlSchema schema = new XmlSchema(filename, filepath);
+		Document doc = documentBuilder.get().parse(in, filename);
+		Element root = doc.getDocumentElement();
+
+		// namespaces
+		NamedNodeMap nslist = root.getAttributes();
+		for (int i = 0; i < nslist.getLength(); i++) {
+			Node attr = nslist.item(i);
+			String aname = attr.getNodeName();
+			if (aname.startsWith("xmlns"))
+				schema.namespaces.put((aname.equals("xmlns")) ? "" : aname.substring(6), attr.getNodeValue());
+		}
+		schema.targetNamespace = xPathExpression("xs:schema/@targetNamespace").evaluate(doc);
+		schema.description = xPathExpression("xs:schema/xs:annotation[1]/xs:documentation[1]").evaluate(doc);
+
+		// get compiled XPath queries
+		XPathExpression xe = xPathExpression("xs:annotation[1]/xs:documentation[1]");
+		XPathExpression xe1 = xPathExpression("xs:restriction[1]/xs:enumeration");
+		XPathExpression xe2 = xPathExpression("xs:restriction[1][@base]");
+		XPathExpression xe3 = xPathExpression("xs:simpleContent[1]/xs:extension[1][@base]");
+		XPathExpression xe4 = xPathExpression("xs:complexContent[1]/xs:extension[1][@base]");
+		XPathExpression xe5 = xPathExpression("xs:sequence[1]/xs:element[@ref]");
+
+		// types
+		NodeList list = (NodeList) xPathExpression("xs:complexType|xs:simpleType[@name]").evaluate(root,
+				XPathConstants.NODESET);
+		for (int i = 0; i < list.getLength(); i++) {
+			Element e = (Element) list.item(i);
+			XmlSchema.TypeDef t = new XmlSchema.TypeDef();
+			t.name = e.getAttribute("name");
+			boolean simpleType = e.getLocalName().equals("simpleType");
+			t.simple = e.getNodeName().equals("xs:simpleType");
+			t.description = xe.evaluate(e);
+			schema.types.add(t);
+			if (t.simple) {
+				NodeList elist = (NodeList) xe1.evaluate(e, XPathConstants.NODESET);
+				for (int j = 0; j < elist.getLength(); j++)
+					t.enumerations.add(((Element) elist.item(j)).getAttribute("value"));
+			}
+			if (!e.hasAttribute("name"))
+				continue;
+
+			// base type
+			Element b;
+			if (simpleType) {
+				if ((b = (Element) xe2.evaluate(e, XPathConstants.NODE)) != null)
+					t.derivation = XmlSchema.SIMPLE_RESTRICTION;
+			} else if ((b = (Element) xe3.evaluate(e, XPathConstants.NODE)) != null)
+				t.derivation = XmlSchema.SIMPLE_CONTENT_EXTENSION;
+			else if ((b = (Element) xe4.evaluate(e, XPathConstants.NODE)) != null) {
+				t.derivation = XmlSchema.COMPLEX_CONTENT_EXTENSION;
+
+				// elements in type
+				NodeList elist = (NodeList) xe5.evaluate(b, XPathConstants.NODESET);
+				for (int j = 0; j < elist.getLength(); j++) {
+					Element e2 = (Element) elist.item(j);
+					XmlSchema.ElementRef r = new XmlSchema.ElementRef();
+					r.ref = e2.getAttribute("ref");
+					String minOccurs = e2.getAttribute("minOccurs");
+					if (!minOccurs.equals(""))
+						r.minOccurs = minOccurs;
+					String maxOccurs = e2.getAttribute("maxOccurs");
+					if (!maxOccurs.equals(""))
+						r.maxOccurs = maxOccurs;
+					t.elementRefs.add(r);
+				}
+			}
+			if (b != null)
+				t.base = b.getAttribute("base");
+		}
+
+		// elements
+		list = (NodeList) xPathExpression("xs:element[@name]").evaluate(root, XPathConstants.NODESET);
+		for (int i = 0; i < list.getLength(); i++) {
+			Element e = (Element) list.item(i);
+			XmlSchema.ElementDef ed = new XmlSchema.ElementDef();
+			ed.name = e.getAttribute("name");
+			ed.type = e.getAttribute("type");
+			ed.description = xe.evaluate(e);
+			schema.elements.add(ed);
+		}
+
+		return schema;
+	}
+
+	// return the compiled XPath expression of the current thread
+	private static XPathExpression xPathExpression(String expression) throws XPathExpressionException {
+		Map<String, XPathExpression> expressions = xPathExpressions.get();
+		XPathExpression xe = expressions.get(expression);
+		if (xe == null) {
+			xe = xPaths.get().compile(expression);
+			expressions.put(expression, xe);
+		}
+		return xe;
+	}
+
+	// return the file and the directory in the archive of a path to a ZIP archive, written
+	// archive.zip or archive.zip!/directory, null if the path is not an archive
+	private static String[] archivePath(String dir) {
+		int i = dir.indexOf("!/");
+		String archive = (i >= 0) ? dir.substring(0, i) : dir;
+		if (!archive.toLowerCase().endsWith(".zip") || !new File(archive).isFile())
+			return null;
+		archive = Paths.get(archive).toAbsolutePath().normalize().toString();
+		String root = (i >= 0) ? dir.substring(i + 2) : "";
+		if (!root.equals("") && !root.endsWith("/"))
+			root += "/";
+		return new String[] { archive, root };
+	}
+
+	// read the schemas of a directory of a ZIP archive without extracting them, each entry is
+	// decompressed once by this thread and parsed by the parser threads
+	private static void parseSchemaArchive(String archive, String root, ExecutorService parser,
+			List<String[]> files, List<Future<XmlSchema>> parsed) throws IOException {
+		ZipInputStream zip = new ZipInputStream(new BufferedInputStream(new FileInputStream(archive), 65536));
 		try {
-			// parse the schema
-			Document doc = db.parse(new File(filename));
-			xPath.setNamespaceContext(new NamespaceResolver(doc, true));
-			ns = importNamespaces(doc);
-
-			// compile XPath queries
-			XPathExpression xe = xPath.compile("xs:annotation[1]/xs:documentation[1]");
-			XPathExpression xe1 = xPath.compile("xs:restriction[1]/xs:enumeration");
-			//XPathExpression xe2 = xPath.compile("xs:annotation[1]/xs:documentation[1]");
-
-			// import types
-			NodeList list = (NodeList) xPath.evaluate("xs:complexType|xs:simpleType[@name]", doc.getDocumentElement(),
-					XPathConstants.NODESET);
-			for (int i = 0; i < list.getLength(); i++) {
-				Element e = (Element) list.item(i);
-				String nodeType = e.getNodeName();
-				String en = e.getAttribute("name");
-				try {
-					UmlClass c = addType(ns.referenceClassView, ns.schemaURI, en, xe.evaluate(e), "");
-					if (c == null) {
-						UmlCom.trace("importTypes: cannot create type " + en);
-						continue;
+			byte[] buffer = new byte[65536];
+			ZipEntry entry;
+			while ((entry = zip.getNextEntry()) != null) {
+				String name = entry.getName();
+				if (entry.isDirectory() || !name.endsWith(".xsd") || !name.startsWith(root))
+					continue;
+				ByteArrayOutputStream out = new ByteArrayOutputStream(
+						(entry.getSize() > 0) ? (int) entry.getSize() : buffer.length);
+				int n;
+				while ((n = zip.read(buffer)) > 0)
+					out.write(buffer, 0, n);
+				final byte[] content = out.toByteArray();
+				final String[] file = { archive + "!/" + name, "/" + name.substring(root.length()) };
+				files.add(file);
+				parsed.add(parser.submit(new Callable<XmlSchema>() {
+					public XmlSchema call() throws Exception {
+						return parseSchema(content, file[0], file[1]);
 					}
-					NiemTypes.put(c.propertyValue(uriProperty), c);
-					if (nodeType == "xs:simpleType")
-					{
-						c.set_Stereotype("enum_pattern");
-						// import enumerated values for simple types (codes)
-						NodeList elist = (NodeList) xe1.evaluate(e, XPathConstants.NODESET);
-						String codeList = "";
-						for (int j = 0; j < elist.getLength(); j++) {
-							Element e2 = (Element) elist.item(j);
-							String v = e2.getAttribute("value");
-							//String d = xe2.evaluate(e2);
-							//codeList += v + "=" + d + "; ";
-							codeList += v + codeListDelimiter + " ";
+				}));
+			}
+		} finally {
+			zip.close();
+		}
+	}
+
+	// wait for a schema parsed by the parser threads, return null if it cannot be parsed
+	private static XmlSchema parsedSchema(String filename, Future<XmlSchema> parsed) {
+		try {
+			return parsed.get();
+		} catch (ExecutionException e) {
+			UmlCom.trace("\n" + filename + "\nimportSchemaDir: cannot parse schema " + e.getCause().toString());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			UmlCom.trace("\n" + filename + "\nimportSchemaDir: interrupted while parsing schema");
+		}
+		return null;
+	}
+
+	// return the namespaces whose files were removed: the namespaces without files in the import whose
+	// file at their last import is in the imported directory or archive directory but no longer listed,
+	// the namespaces imported from elsewhere or before their file was memorized are kept
+	private static Set<String> removedNamespaces(Map<String, List<XmlSchema>> groups, String importRoot,
+			List<String[]> files) {
+		Set<String> listed = new HashSet<String>();
+		for (String[] file : files)
+			listed.add(file[0]);
+		Set<String> removed = new HashSet<String>();
+		for (Namespace ns : Namespaces.values()) {
+			if (ns.referenceClassView == null || groups.containsKey(ns.schemaURI))
+				continue;
+			String hash = ns.referenceClassView.propertyValue(hashProperty);
+			String location = ns.referenceClassView.propertyValue(locationProperty);
+			if (hash != null && !hash.equals("") && location != null && location.startsWith(importRoot)
+					&& !listed.contains(location))
+				removed.add(ns.schemaURI);
+		}
+		return removed;
+	}
+
+	// return the namespaces to import again: the namespaces whose files were added, changed or
+	// removed, and the namespaces with elements of a type of a namespace imported again
+	private static Set<String> changedNamespaces(Map<String, List<XmlSchema>> groups, Set<String> removed) {
+		Set<String> changed = new HashSet<String>(removed);
+		for (Entry<String, List<XmlSchema>> group : groups.entrySet()) {
+			Namespace ns = Namespaces.get(group.getKey());
+			if (ns == null || ns.referenceClassView == null
+					|| !namespaceHash(group.getValue()).equals(ns.referenceClassView.propertyValue(hashProperty)))
+				changed.add(group.getKey());
+		}
+
+		boolean cascade = !changed.isEmpty();
+		while (cascade) {
+			cascade = false;
+			for (Entry<String, List<XmlSchema>> group : groups.entrySet()) {
+				if (changed.contains(group.getKey()))
+					continue;
+				search: for (XmlSchema schema : group.getValue())
+					for (XmlSchema.ElementDef e : schema.elements)
+						if (!e.type.equals("") && changed.contains(namespaceOf(schema, e.type))) {
+							changed.add(group.getKey());
+							cascade = true;
+							break search;
 						}
-						if (!codeList.equals(""))
-							c.set_PropertyValue(codeListProperty, codeList);
+			}
+		}
+		return changed;
+	}
+
+	// return the namespaces not imported again whose base types or elements in types refer to a
+	// namespace imported again
+	private static Set<String> relinkedNamespaces(Map<String, List<XmlSchema>> groups, Set<String> reimported) {
+		Set<String> relinked = new HashSet<String>();
+		if (reimported.isEmpty())
+			return relinked;
+		for (Entry<String, List<XmlSchema>> group : groups.entrySet()) {
+			if (reimported.contains(group.getKey()))
+				continue;
+			search: for (XmlSchema schema : group.getValue())
+				for (XmlSchema.TypeDef t : schema.types) {
+					boolean refers = t.base != null && reimported.contains(namespaceOf(schema, t.base));
+					for (int i = 0; !refers && i < t.elementRefs.size(); i++)
+						refers = reimported.contains(namespaceOf(schema, t.elementRefs.get(i).ref));
+					if (refers) {
+						relinked.add(group.getKey());
+						break search;
 					}
-				} catch (NullPointerException re) {
-					UmlCom.trace(fn + "importTypes: null pointer " + en);
-					fn = "";
-				} catch (Exception re) {
-					UmlCom.trace(fn + "importTypes: cannot create type " + en + " " + re.toString());
-					fn = "";
 				}
+		}
+		return relinked;
+	}
+
+	// delete what will be imported again: everything in the namespaces imported again, removing the
+	// class views of the namespaces whose files were removed, and the base types and elements in types
+	// of the namespaces relinked
+	private static void clearNamespaces(Map<String, List<XmlSchema>> groups, Set<String> reimported,
+			Set<String> relinked) {
+		Set<String> cleared = new HashSet<String>(reimported);
+		cleared.addAll(relinked);
+		for (String schemaURI : cleared) {
+			Namespace ns = Namespaces.get(schemaURI);
+			if (ns == null || ns.referenceClassView == null)
+				continue;
+			UmlClassView cv = ns.referenceClassView;
+			cv.set_PropertyValue(hashProperty, "");
+			if (!groups.containsKey(schemaURI)) {
+				trace("Deleting namespace " + schemaURI);
+				cv.deleteIt();
+				ns.referenceClassView = null;
+				ns.filepath = null;
+				continue;
+			}
+			if (reimported.contains(schemaURI)) {
+				trace("Deleting types and elements of namespace " + schemaURI);
+				for (UmlItem item : cv.children())
+					item.deleteIt();
+				continue;
+			}
+			trace("Deleting elements in types of namespace " + schemaURI);
+			for (UmlItem item : cv.children()) {
+				if (item.kind().value() != anItemKind._aClass)
+					continue;
+				for (UmlItem member : item.children())
+					if (member.kind().value() == anItemKind._aRelation
+							|| member.kind().value() == anItemKind._anAttribute)
+						member.deleteIt();
 			}
-		} catch (NullPointerException re) {
-			UmlCom.trace(fn + "importTypes: null pointer ");
-			fn = "";
-		} catch (Exception re) {
-			UmlCom.trace(fn + "importTypes: " + re.toString());
-			fn = "";
 		}
+		if (!cleared.isEmpty())
+			modelChanged(referencePackage);
+		removeEntries(NiemTypes, reimported);
+		removeEntries(NiemCodeLists, reimported);
+		removeEntries(NiemElements, reimported);
+		removeEntries(NiemElementsInType, cleared);
+	}
 
-		return ns;
+	// remove the entries of the given namespaces from a map indexed by qualified name
+	private static void removeEntries(Map<QualifiedName, ?> map, Set<String> schemaURIs) {
+		if (schemaURIs.isEmpty())
+			return;
+		Iterator<QualifiedName> it = map.keySet().iterator();
+		while (it.hasNext()) {
+			QualifiedName uri = it.next();
+			if (uri != null && schemaURIs.contains(uri.schemaURI))
+				it.remove();
+		}
+	}
+
+	// return the namespace of a type or element name of a schema, resolved as findTypeByPrefix does
+	private static String namespaceOf(XmlSchema schema, String tagName) {
+		String prefix = getPrefix(tagName);
+		if (prefix.equals(""))
+			return XMLConstants.W3C_XML_SCHEMA_NS_URI;
+		if (prefix.equals(localPrefix))
+			return localPrefix;
+		return schema.lookupNamespaceURI(prefix);
+	}
+
+	// return the parsed schemas by namespace
+	private static Map<String, List<XmlSchema>> namespaceGroups(List<XmlSchema> schemas) {
+		Map<String, List<XmlSchema>> groups = new HashMap<String, List<XmlSchema>>();
+		for (XmlSchema schema : schemas) {
+			if (schema == null)
+				continue;
+			List<XmlSchema> group = groups.get(schema.targetNamespace);
+			if (group == null) {
+				group = new ArrayList<XmlSchema>();
+				groups.put(schema.targetNamespace, group);
+			}
+			group.add(schema);
+		}
+		return groups;
+	}
+
+	// return the hash of the files of a namespace from their paths and content hashes
+	private static String namespaceHash(List<XmlSchema> group) {
+		Set<String> files = new TreeSet<String>();
+		for (XmlSchema schema : group)
+			files.add(schema.filepath + "\n" + schema.hash + "\n");
+		StringBuilder content = new StringBuilder();
+		for (String file : files)
+			content.append(file);
+		return sha1(content.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	// return the SHA-1 of a content in hexadecimal
+	private static String sha1(byte[] content) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-1");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-1 not available " + e.toString());
+		}
+		StringBuilder hex = new StringBuilder(40);
+		for (byte b : digest.digest(content))
+			hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+		return hex.toString();
 	}
 
 	// identify UBL types and elements
@@ -2790,6 +3681,7 @@ class NiemTools {
 				String schemaLocation = part[2].trim();
 				externalPrefixes.add(prefix);
 				Prefixes.put(prefix, schemaURI);
+				PrefixedNames.clear();
 				externalSchemaURL.put(schemaURI, schemaLocation);
 			}
 		}
@@ -2798,63 +3690,53 @@ class NiemTools {
 	// indicate whether an element exists in reference model
 	public static Boolean isNiemElement(String elementName) {
 
-		if (elementName.equals("") || elementName.equals("??") || isExternalPrefix(getPrefix(elementName)))
+		if (elementName.equals("") || elementName.equals("??"))
 			return false;
 
-		trace("isNiemElement: Find element " + elementName);
-		String prefix = getPrefix(elementName);
-		String schemaURI = Prefixes.get(prefix);
-		if (schemaURI == null) {
-			UmlCom.trace("isNiemElement: Cannot find prefix " + prefix + " for element " + elementName);
+		if (_TRACE)
+			trace("isNiemElement: Find element " + elementName);
+		QualifiedName uri = resolveName(elementName);
+		if (uri == null) {
+			String prefix = getPrefix(elementName);
+			if (!isExternalPrefix(prefix))
+				UmlCom.trace("isNiemElement: Cannot find prefix " + prefix + " for element " + elementName);
 			return false;
 		}
-		String tagName = getName(elementName);
-		String tagName2 = tagName.replace("-", "");
-		trace("isNiemElement Searching for element " + schemaURI + hashDelimiter + tagName2);
-		return NiemElements.containsKey(schemaURI + hashDelimiter + tagName2);
+		if (referenceIndexFile != null)
+			return referenceIndex != null && referenceIndex.elements.containsKey(uri);
+		return NiemElements.containsKey(uri);
 	}
 
 	// get type by prefix and tagname
 	public static Boolean isNiemElementInType(String typeName, String elementName) {
-		trace("isNiemElement: is element " + elementName + " in type " + typeName + "?");
+		if (_TRACE)
+			trace("isNiemElement: is element " + elementName + " in type " + typeName + "?");
 		if (!isNiemType(typeName) || !isNiemElement(elementName))
 			return false;
 
-		// parse type
-		String typePrefix = getPrefix(typeName);
-		String typeSchemaURI = Prefixes.get(typePrefix);
-		if (typeSchemaURI == null)
-		{
-			UmlCom.trace("isNiemElementInType: Cannot find prefix " + typePrefix + "in element " + typeName);
-			return false;
-		}
-		String typeTagName = getName(typeName);
-
-		// parse property
-		String elementPrefix = getPrefix(elementName);
-		String elementSchemaURI = Prefixes.get(elementPrefix);
-		if (elementSchemaURI == null) {
-			UmlCom.trace("isNiemElementInType: Cannot find prefix " + elementPrefix + "in element " + elementName);
+		// both prefixes are known
+		QualifiedName typeUri = resolveName(typeName);
+		QualifiedName uri = resolveName(elementName);
+		if (referenceIndexFile != null) {
+			Set<QualifiedName> list = (referenceIndex == null) ? null : referenceIndex.elementsInType.get(typeUri);
+			if (list != null && list.contains(uri))
+				return true;
+			UmlCom.trace("isNiemElementInType: element " + elementName + " not found in type " + typeName);
 			return false;
 		}
-		String tagName = getName(elementName);
-		String tagName2 = tagName.replace("-", "");
-		String uri = elementSchemaURI + hashDelimiter + tagName2;
 		UmlClassInstance ci = (UmlClassInstance) NiemElements.get(uri);
 		if (ci == null) {
 			UmlCom.trace("isNiemElementInType: element not found: " + uri);
 			return false;
 		}
-		List<UmlClassInstance> list = (List<UmlClassInstance>) (NiemElementsInType
-				.get(typeSchemaURI + hashDelimiter + typeTagName));
+		Set<UmlClassInstance> list = NiemElementsInType.get(typeUri);
 		if (list == null)
 		{
-			UmlCom.trace("isNiemElementInType: elements not found in type " + typeTagName);
+			UmlCom.trace("isNiemElementInType: elements not found in type " + typeUri.name);
 			return false;
 		}
-		for (UmlClassInstance ci2 : list)
-			if (ci.equals(ci2))
-				return true;
+		if (list.contains(ci))
+			return true;
 
 		UmlCom.trace("isNiemElementInType: element " + elementName + " not found in type " + typeName);
 		return false;
@@ -2873,16 +3755,15 @@ class NiemTools {
 
 	// indicate whether a type exists in reference model
 	public static Boolean isNiemType(String typeName) {
-		if (typeName.equals("") || typeName.equals("??") || isExternalPrefix(getPrefix(typeName)))
+		if (typeName.equals("") || typeName.equals("??"))
 			return false;
 
-		String prefix = getPrefix(typeName);
-		String schemaURI = Prefixes.get(prefix);
-		if (schemaURI == null)
+		QualifiedName uri = resolveName(typeName);
+		if (uri == null)
 			return false;
-		String tagName = getName(typeName);
-		String tagName2 = tagName.replace("-", "");
-		return NiemTypes.containsKey(schemaURI + hashDelimiter + tagName2);
+		if (referenceIndexFile != null)
+			return referenceIndex != null && referenceIndex.types.containsKey(uri);
+		return NiemTypes.containsKey(uri);
 	}
 
 	// output one line of the NIEM mapping spreadsheet in CSV format
@@ -1,6 +1,10 @@
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import javax.xml.XMLConstants;
 import javax.xml.namespace.NamespaceContext;
@@ -13,8 +17,22 @@ import org.w3c.dom.NodeList;
 
 public class NamespaceResolver implements NamespaceContext {
 	private static final String DEFAULT_NS = "DEFAULT";
-	private Map<String, String> prefix2Uri = new HashMap<String, String>();
-	private Map<String, String> uri2Prefix = new HashMap<String, String>();
+	private static final String LOCAL_PREFIX = "local";
+	private static final String LOCAL_URI = "http://local";
+
+	/**
+	 * The resolver of the fixed prefixes only (xs, xsd and local), it does not
+	 * depend on a document so the XPath expressions compiled with it can be
+	 * used for any document.
+	 */
+	public static final NamespaceResolver SCHEMA = new NamespaceResolver();
+
+	// only filled by the constructor, so a resolver can be shared by threads
+	private final Map<String, String> prefix2Uri = new HashMap<String, String>();
+	private final Map<String, String> uri2Prefix = new HashMap<String, String>();
+
+	private NamespaceResolver() {
+	}
 
 	/**
 	 * This constructor parses the document and stores all namespaces it can
@@ -94,35 +112,81 @@ public class NamespaceResolver implements NamespaceContext {
 
 	/**
 	 * This method is called by XPath. It returns the default namespace, if the
-	 * prefix is null or "".
+	 * prefix is null or "". The fixed prefixes are resolved without looking at
+	 * the document.
 	 * 
 	 * @param prefix
 	 *            to search for
 	 * @return uri
 	 */
 	public String getNamespaceURI(String prefix) {
-		if (prefix == null || prefix.equals(XMLConstants.DEFAULT_NS_PREFIX))	
+		if (prefix == null || prefix.length() == 0)
 //			return prefix2Uri.get(DEFAULT_NS);
 			return XMLConstants.W3C_XML_SCHEMA_NS_URI;
-		else if (prefix.equals("xs")  || prefix.equals("xsd"))
-			return XMLConstants.W3C_XML_SCHEMA_NS_URI;
-		else if (prefix.equals("local"))
-			return "http://local";
-		else 
-			return prefix2Uri.get(prefix);
+		String uri = fixedNamespaceURI(prefix);
+		return (uri != null) ? uri : prefix2Uri.get(prefix);
 	}
 
 	/**
-	 * This method is not needed in this context, but can be implemented in a
-	 * similar way.
+	 * This method returns the prefix declared for the namespace in the
+	 * document, else one of the fixed prefixes.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if the namespace is null
 	 */
 	public String getPrefix(String namespaceURI) {
-		return uri2Prefix.get(namespaceURI);
+		if (namespaceURI == null)
+			throw new IllegalArgumentException("null namespace URI");
+		String prefix = uri2Prefix.get(namespaceURI);
+		if (prefix != null && !prefix.equals(DEFAULT_NS))
+			return prefix;
+		Iterator<String> prefixes = fixedPrefixes(namespaceURI).iterator();
+		return (prefixes.hasNext()) ? prefixes.next() : null;
 	}
 
+	/**
+	 * This method returns all the prefixes bound to the namespace, the fixed
+	 * ones then those declared in the document.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if the namespace is null
+	 */
 	@SuppressWarnings("rawtypes")
 	public Iterator getPrefixes(String namespaceURI) {
-		// Not implemented
+		if (namespaceURI == null)
+			throw new IllegalArgumentException("null namespace URI");
+		List<String> prefixes = fixedPrefixes(namespaceURI);
+		for (Entry<String, String> entry : prefix2Uri.entrySet())
+			if (entry.getValue().equals(namespaceURI) && !entry.getKey().equals(DEFAULT_NS)
+					&& !prefixes.contains(entry.getKey()))
+				prefixes.add(entry.getKey());
+		return Collections.unmodifiableList(prefixes).iterator();
+	}
+
+	private static String fixedNamespaceURI(String prefix) {
+		if (prefix.equals("xs") || prefix.equals("xsd"))
+			return XMLConstants.W3C_XML_SCHEMA_NS_URI;
+		else if (prefix.equals(LOCAL_PREFIX))
+			return LOCAL_URI;
+		else if (prefix.equals(XMLConstants.XML_NS_PREFIX))
+			return XMLConstants.XML_NS_URI;
+		else if (prefix.equals(XMLConstants.XMLNS_ATTRIBUTE))
+			return XMLConstants.XMLNS_ATTRIBUTE_NS_URI;
 		return null;
 	}
+
+	private static List<String> fixedPrefixes(String namespaceURI) {
+		List<String> prefixes = new ArrayList<String>();
+		if (namespaceURI.equals(XMLConstants.W3C_XML_SCHEMA_NS_URI)) {
+			prefixes.add("xs");
+			prefixes.add("xsd");
+			prefixes.add(XMLConstants.DEFAULT_NS_PREFIX);
+		} else if (namespaceURI.equals(LOCAL_URI))
+			prefixes.add(LOCAL_PREFIX);
+		else if (namespaceURI.equals(XMLConstants.XML_NS_URI))
+			prefixes.add(XMLConstants.XML_NS_PREFIX);
+		else if (namespaceURI.equals(XMLConstants.XMLNS_ATTRIBUTE_NS_URI))
+			prefixes.add(XMLConstants.XMLNS_ATTRIBUTE);
+		return prefixes;
+	}
 }
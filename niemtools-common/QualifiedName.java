@@ -0,0 +1,99 @@
+import java.util.HashMap;
+import java.util.Map;
+
+// qualified name of a type or element, the namespace URI and the name without hyphens
+//
+// qualified names are interned: there is one instance per name so the maps of NiemTools are keyed on
+// them with the identity and a lookup of a known name builds no string, the URI property of the items
+// (schemaURI,name) is parsed once
+//
+// only used by the thread talking to BOUML
+public final class QualifiedName {
+
+	public static final String DELIMITER = ",";
+
+	private static Map<String, Map<String, QualifiedName>> names = new HashMap<String, Map<String, QualifiedName>>();
+	private static Map<String, QualifiedName> uris = new HashMap<String, QualifiedName>();
+
+	// dense identifier of the namespace
+	public final int namespace;
+	public final String schemaURI;
+	public final String name;
+	private String uri = null;
+
+	private QualifiedName(int namespace2, String schemaURI2, String name2)
+	{
+		namespace = namespace2;
+		schemaURI = schemaURI2;
+		name = name2;
+	}
+
+	// return the qualified name, created if needed
+	public static QualifiedName of(String schemaURI, String name)
+	{
+		Map<String, QualifiedName> namespaceNames = names.get(schemaURI);
+		if (namespaceNames == null) {
+			namespaceNames = new HashMap<String, QualifiedName>();
+			names.put(schemaURI, namespaceNames);
+		}
+		QualifiedName qn = namespaceNames.get(name);
+		if (qn == null) {
+			String tagName = stripHyphens(name);
+			qn = namespaceNames.get(tagName);
+			if (qn == null) {
+				qn = new QualifiedName(names.size() - 1, schemaURI, tagName);
+				namespaceNames.put(tagName, qn);
+			}
+			namespaceNames.put(name, qn);
+		}
+		return qn;
+	}
+
+	// return the qualified name if it exists, null otherwise, without creating anything
+	public static QualifiedName find(String schemaURI, String name)
+	{
+		Map<String, QualifiedName> namespaceNames = names.get(schemaURI);
+		if (namespaceNames == null)
+			return null;
+		QualifiedName qn = namespaceNames.get(name);
+		return (qn != null || name.indexOf('-') < 0) ? qn : namespaceNames.get(stripHyphens(name));
+	}
+
+	// return the qualified name of a URI property schemaURI,name, null if it is not one
+	public static QualifiedName parse(String uri)
+	{
+		if (uri == null)
+			return null;
+		QualifiedName qn = uris.get(uri);
+		if (qn == null) {
+			int i = uri.lastIndexOf(DELIMITER);
+			if (i < 0)
+				return null;
+			qn = of(uri.substring(0, i), uri.substring(i + DELIMITER.length()));
+			uris.put(uri, qn);
+		}
+		return qn;
+	}
+
+	// forget every name, the qualified names already used as keys must no longer be looked up
+	public static void clear()
+	{
+		names.clear();
+		uris.clear();
+	}
+
+	// names of NIEM items have no hyphens
+	public static String stripHyphens(String name)
+	{
+		return (name.indexOf('-') < 0) ? name : name.replace("-", "");
+	}
+
+	// URI property
+	@Override
+	public String toString()
+	{
+		if (uri == null)
+			uri = schemaURI + DELIMITER + name;
+		return uri;
+	}
+}
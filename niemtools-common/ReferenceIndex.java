@@ -0,0 +1,129 @@
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+// NIEM reference model kept outside of BOUML in the indexed reference mode: the reference package only
+// has the class views of the namespaces, the types, elements and elements in types are in this index
+// and only the ones copied to the subset are created in BOUML
+//
+// the maps are indexed by qualified name like the maps of NiemTools, the index is saved in a StampedFile
+// whose stamp, made from the hashes of the namespaces indexed, is also memorized in the reference package
+public class ReferenceIndex {
+
+	private static final String MAGIC = "NIEMINDX";
+	private static final int VERSION = 1;
+
+	// type of the reference model
+	public static class Type {
+		public String schemaURI = null;
+		public String name = null;
+		public String description = "";
+		public String codeList = null;
+		// base type, null if none
+		public QualifiedName base = null;
+
+		public Type(String schemaURI2, String name2, String description2)
+		{
+			schemaURI = schemaURI2;
+			name = name2;
+			description = description2;
+		}
+	}
+
+	// element of the reference model
+	public static class Element {
+		public String schemaURI = null;
+		public String name = null;
+		public String description = "";
+		public QualifiedName type = null;
+
+		public Element(String schemaURI2, String name2, String description2, QualifiedName type2)
+		{
+			schemaURI = schemaURI2;
+			name = name2;
+			description = description2;
+			type = type2;
+		}
+	}
+
+	public Map<QualifiedName, Type> types = new HashMap<QualifiedName, Type>();
+	public Map<QualifiedName, Element> elements = new HashMap<QualifiedName, Element>();
+	// elements in each type, hashed to test the membership
+	public Map<QualifiedName, Set<QualifiedName>> elementsInType = new HashMap<QualifiedName, Set<QualifiedName>>();
+
+	// write the index
+	public void write(String filename, long stamp) throws IOException
+	{
+		ByteArrayOutputStream content = new ByteArrayOutputStream(1 << 20);
+		DataOutputStream out = new DataOutputStream(content);
+
+		out.writeInt(types.size());
+		for (Entry<QualifiedName, Type> entry : types.entrySet()) {
+			Type t = entry.getValue();
+			StampedFile.writeName(out, entry.getKey());
+			StampedFile.writeString(out, t.schemaURI);
+			StampedFile.writeString(out, t.name);
+			StampedFile.writeString(out, t.description);
+			StampedFile.writeString(out, t.codeList);
+			StampedFile.writeName(out, t.base);
+		}
+
+		out.writeInt(elements.size());
+		for (Entry<QualifiedName, Element> entry : elements.entrySet()) {
+			Element e = entry.getValue();
+			StampedFile.writeName(out, entry.getKey());
+			StampedFile.writeString(out, e.schemaURI);
+			StampedFile.writeString(out, e.name);
+			StampedFile.writeString(out, e.description);
+			StampedFile.writeName(out, e.type);
+		}
+
+		out.writeInt(elementsInType.size());
+		for (Entry<QualifiedName, Set<QualifiedName>> entry : elementsInType.entrySet()) {
+			StampedFile.writeName(out, entry.getKey());
+			out.writeInt(entry.getValue().size());
+			for (QualifiedName qn : entry.getValue())
+				StampedFile.writeName(out, qn);
+		}
+		out.flush();
+
+		StampedFile.write(filename, MAGIC, VERSION, content.toByteArray(), stamp);
+	}
+
+	// read the index if it has the given stamp, return null if it cannot be used
+	public static ReferenceIndex read(String filename, long stamp) throws IOException
+	{
+		ByteBuffer in = StampedFile.read(filename, MAGIC, VERSION, stamp);
+		if (in == null)
+			return null;
+
+		ReferenceIndex index = new ReferenceIndex();
+		for (int i = in.getInt(); i > 0; i--) {
+			QualifiedName qn = StampedFile.readName(in);
+			Type t = new Type(StampedFile.readString(in), StampedFile.readString(in), StampedFile.readString(in));
+			t.codeList = StampedFile.readString(in);
+			t.base = StampedFile.readName(in);
+			index.types.put(qn, t);
+		}
+		for (int i = in.getInt(); i > 0; i--) {
+			QualifiedName qn = StampedFile.readName(in);
+			index.elements.put(qn, new Element(StampedFile.readString(in), StampedFile.readString(in),
+					StampedFile.readString(in), StampedFile.readName(in)));
+		}
+		for (int i = in.getInt(); i > 0; i--) {
+			QualifiedName qn = StampedFile.readName(in);
+			int n = in.getInt();
+			Set<QualifiedName> enlist = new LinkedHashSet<QualifiedName>(n * 2);
+			while (n-- > 0)
+				enlist.add(StampedFile.readName(in));
+			index.elementsInType.put(qn, enlist);
+		}
+		return index;
+	}
+}
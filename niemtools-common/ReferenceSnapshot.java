@@ -0,0 +1,161 @@
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+// snapshot of the index of the NIEM reference model (namespaces, prefixes, types, elements and elements in
+// types) with the BOUML identifiers of the items, to reload it without reading the reference package
+//
+// stamps of the StampedFile: identifier of the reference package, stamp also memorized in the package
+public class ReferenceSnapshot {
+
+	private static final String MAGIC = "NIEMSNAP";
+	private static final int VERSION = 1;
+
+	// write the snapshot
+	public static void write(String filename, long packageId, long stamp, Map<String, String> prefixes,
+			Map<String, Namespace> namespaces, Map<QualifiedName, UmlClass> types, Map<QualifiedName, UmlItem> elements,
+			Map<QualifiedName, Set<UmlClassInstance>> elementsInType) throws IOException
+	{
+		ByteArrayOutputStream content = new ByteArrayOutputStream(1 << 20);
+		DataOutputStream out = new DataOutputStream(content);
+
+		out.writeInt(prefixes.size());
+		for (Entry<String, String> entry : prefixes.entrySet()) {
+			StampedFile.writeString(out, entry.getKey());
+			StampedFile.writeString(out, entry.getValue());
+		}
+
+		out.writeInt(namespaces.size());
+		for (Namespace ns : namespaces.values()) {
+			StampedFile.writeString(out, ns.schemaURI);
+			writeItem(out, ns.referenceClassView);
+			StampedFile.writeString(out, ns.filepath);
+		}
+
+		out.writeInt(types.size());
+		for (Entry<QualifiedName, UmlClass> entry : types.entrySet()) {
+			StampedFile.writeName(out, entry.getKey());
+			writeItem(out, entry.getValue());
+		}
+
+		// the elements in types refer to the elements by their rank
+		Map<UmlItem, Integer> ranks = new IdentityHashMap<UmlItem, Integer>();
+		out.writeInt(elements.size());
+		for (Entry<QualifiedName, UmlItem> entry : elements.entrySet()) {
+			ranks.put(entry.getValue(), ranks.size());
+			StampedFile.writeName(out, entry.getKey());
+			writeItem(out, entry.getValue());
+		}
+
+		out.writeInt(elementsInType.size());
+		for (Entry<QualifiedName, Set<UmlClassInstance>> entry : elementsInType.entrySet()) {
+			StampedFile.writeName(out, entry.getKey());
+			out.writeInt(entry.getValue().size());
+			for (UmlClassInstance ci : entry.getValue()) {
+				Integer rank = (ci == null) ? null : ranks.get(ci);
+				out.writeInt((rank == null) ? -1 : rank.intValue());
+			}
+		}
+		out.flush();
+
+		StampedFile.write(filename, MAGIC, VERSION, content.toByteArray(), packageId, stamp);
+	}
+
+	// read the snapshot if it is the one of the given package and stamp, the maps are only
+	// changed if the whole snapshot is valid, return false if it cannot be used
+	public static boolean read(String filename, long packageId, long stamp, Map<String, String> prefixes,
+			Map<String, Namespace> namespaces, Map<QualifiedName, UmlClass> types, Map<QualifiedName, UmlItem> elements,
+			Map<QualifiedName, Set<UmlClassInstance>> elementsInType) throws IOException
+	{
+		ByteBuffer in = StampedFile.read(filename, MAGIC, VERSION, packageId, stamp);
+		if (in == null)
+			return false;
+
+		Map<String, String> snapshotPrefixes = new HashMap<String, String>();
+		for (int i = in.getInt(); i > 0; i--)
+			snapshotPrefixes.put(StampedFile.readString(in), StampedFile.readString(in));
+
+		List<Namespace> snapshotNamespaces = new ArrayList<Namespace>();
+		for (int i = in.getInt(); i > 0; i--) {
+			Namespace ns = new Namespace(StampedFile.readString(in));
+			ns.referenceClassView = (UmlClassView) readItem(in, anItemKind.aClassView);
+			ns.filepath = StampedFile.readString(in);
+			snapshotNamespaces.add(ns);
+		}
+
+		Map<QualifiedName, UmlClass> snapshotTypes = new HashMap<QualifiedName, UmlClass>();
+		for (int i = in.getInt(); i > 0; i--) {
+			QualifiedName uri = StampedFile.readName(in);
+			UmlClass c = (UmlClass) readItem(in, anItemKind.aClass);
+			if (c == null)
+				return false;
+			snapshotTypes.put(uri, c);
+		}
+
+		List<UmlClassInstance> ranks = new ArrayList<UmlClassInstance>();
+		Map<QualifiedName, UmlItem> snapshotElements = new HashMap<QualifiedName, UmlItem>();
+		for (int i = in.getInt(); i > 0; i--) {
+			QualifiedName uri = StampedFile.readName(in);
+			UmlClassInstance ci = (UmlClassInstance) readItem(in, anItemKind.aClassInstance);
+			if (ci == null)
+				return false;
+			ranks.add(ci);
+			snapshotElements.put(uri, ci);
+		}
+
+		Map<QualifiedName, Set<UmlClassInstance>> snapshotElementsInType = new HashMap<QualifiedName, Set<UmlClassInstance>>();
+		for (int i = in.getInt(); i > 0; i--) {
+			QualifiedName uri = StampedFile.readName(in);
+			int n = in.getInt();
+			Set<UmlClassInstance> enlist = new LinkedHashSet<UmlClassInstance>(n * 2);
+			while (n-- > 0) {
+				int rank = in.getInt();
+				enlist.add((rank < 0) ? null : ranks.get(rank));
+			}
+			snapshotElementsInType.put(uri, enlist);
+		}
+
+		// the snapshot is valid
+		for (Entry<String, String> entry : snapshotPrefixes.entrySet())
+			if (!prefixes.containsKey(entry.getKey()))
+				prefixes.put(entry.getKey(), entry.getValue());
+		for (Namespace snapshotNs : snapshotNamespaces) {
+			Namespace ns = namespaces.get(snapshotNs.schemaURI);
+			if (ns == null) {
+				ns = new Namespace(snapshotNs.schemaURI);
+				namespaces.put(snapshotNs.schemaURI, ns);
+			}
+			if (snapshotNs.referenceClassView != null) {
+				ns.referenceClassView = snapshotNs.referenceClassView;
+				ns.filepath = snapshotNs.filepath;
+			}
+		}
+		types.putAll(snapshotTypes);
+		elements.putAll(snapshotElements);
+		elementsInType.putAll(snapshotElementsInType);
+		return true;
+	}
+
+	// an item is memorized by its identifier and name, the identifier 0 is a null item
+	private static void writeItem(DataOutputStream out, UmlItem item) throws IOException
+	{
+		out.writeLong((item == null) ? 0 : item.identifier_());
+		StampedFile.writeString(out, (item == null) ? null : item.name());
+	}
+
+	private static UmlItem readItem(ByteBuffer in, anItemKind kind)
+	{
+		long id = in.getLong();
+		String name = StampedFile.readString(in);
+		return (id == 0) ? null : UmlItem.from_id_(id, kind, name);
+	}
+}
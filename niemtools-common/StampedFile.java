@@ -0,0 +1,119 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.zip.CRC32;
+
+// binary file of the reference model index and of its snapshot, whose stamps tell what the content was
+// made from
+//
+// header: magic, version, stamps, length and CRC32 of the content
+public class StampedFile {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	// write the file, the previous one is replaced only when the new one is complete
+	public static void write(String filename, String magic, int version, byte[] content, long... stamps)
+			throws IOException
+	{
+		CRC32 crc = new CRC32();
+		crc.update(content, 0, content.length);
+
+		File tmp = new File(filename + ".tmp");
+		DataOutputStream file = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp), 65536));
+		try {
+			file.writeBytes(magic);
+			file.writeInt(version);
+			for (long stamp : stamps)
+				file.writeLong(stamp);
+			file.writeInt(content.length);
+			file.writeInt((int) crc.getValue());
+			file.write(content);
+		} finally {
+			file.close();
+		}
+		File f = new File(filename);
+		if (f.exists() && !f.delete())
+			throw new IOException("cannot replace " + filename);
+		if (!tmp.renameTo(f))
+			throw new IOException("cannot rename " + tmp.getPath());
+	}
+
+	// return the content of the file if it has the given magic, version and stamps and is complete,
+	// else null
+	public static ByteBuffer read(String filename, String magic, int version, long... stamps) throws IOException
+	{
+		RandomAccessFile file = new RandomAccessFile(filename, "r");
+		ByteBuffer in;
+		try {
+			FileChannel channel = file.getChannel();
+			if (channel.size() < magic.length() + 4 + 8 * stamps.length + 4 + 4)
+				return null;
+			in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		} finally {
+			file.close();
+		}
+
+		byte[] b = new byte[magic.length()];
+		in.get(b);
+		if (!new String(b, "ISO-8859-1").equals(magic) || in.getInt() != version)
+			return null;
+		for (long stamp : stamps)
+			if (in.getLong() != stamp)
+				return null;
+		int length = in.getInt();
+		int checksum = in.getInt();
+		if (length != in.remaining())
+			return null;
+
+		CRC32 crc = new CRC32();
+		byte[] chunk = new byte[65536];
+		ByteBuffer content = in.slice();
+		while (content.hasRemaining()) {
+			int n = Math.min(chunk.length, content.remaining());
+			content.get(chunk, 0, n);
+			crc.update(chunk, 0, n);
+		}
+		if ((int) crc.getValue() != checksum)
+			return null;
+		return in.slice();
+	}
+
+	// a string is memorized by its length in UTF-8 then its bytes, the length -1 is a null string
+	public static void writeString(DataOutputStream out, String s) throws IOException
+	{
+		if (s == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] b = s.getBytes(UTF8);
+		out.writeInt(b.length);
+		out.write(b);
+	}
+
+	public static String readString(ByteBuffer in)
+	{
+		int length = in.getInt();
+		if (length < 0)
+			return null;
+		byte[] b = new byte[length];
+		in.get(b);
+		return new String(b, UTF8);
+	}
+
+	// a qualified name is memorized as schemaURI,name
+	public static void writeName(DataOutputStream out, QualifiedName qn) throws IOException
+	{
+		writeString(out, (qn == null) ? null : qn.toString());
+	}
+
+	public static QualifiedName readName(ByteBuffer in)
+	{
+		return QualifiedName.parse(readString(in));
+	}
+}
@@ -0,0 +1,147 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// types and elements to copy from the NIEM reference model to the subset, computed in memory before
+// anything is created in BOUML
+//
+// the plan is the closure of the mapped types and elements: the base types of the types, the types of
+// the elements and the heads of the substitution groups, the types are ordered with their base types
+// first and the elements after their types so the subset is then created in one pass
+public class SubsetPlan {
+
+	// reference model and current subset seen by the plan
+	public interface Reference {
+		// base types of a type, null if the type is not in the reference model
+		List<QualifiedName> baseTypes(QualifiedName type);
+
+		// type of an element, null if the element is not in the reference model
+		QualifiedName elementType(QualifiedName element);
+
+		// indicate whether a type or an element is already in the subset
+		boolean typeInSubset(QualifiedName type);
+
+		boolean elementInSubset(QualifiedName element);
+	}
+
+	// element in type of the subset
+	public static class ElementInType {
+		public final QualifiedName type;
+		public final QualifiedName element;
+		public final String multiplicity;
+
+		public ElementInType(QualifiedName type2, QualifiedName element2, String multiplicity2)
+		{
+			type = type2;
+			element = element2;
+			multiplicity = multiplicity2;
+		}
+	}
+
+	private final Reference reference;
+	// types to copy in topological order with their base types
+	private Map<QualifiedName, List<QualifiedName>> types = new LinkedHashMap<QualifiedName, List<QualifiedName>>();
+	// elements to copy with their types
+	private Map<QualifiedName, QualifiedName> elements = new LinkedHashMap<QualifiedName, QualifiedName>();
+	private List<ElementInType> elementsInType = new ArrayList<ElementInType>();
+	// types and elements not found in the reference model
+	private Set<QualifiedName> missing = new HashSet<QualifiedName>();
+	private Set<QualifiedName> visiting = new HashSet<QualifiedName>();
+
+	public SubsetPlan(Reference reference2)
+	{
+		reference = reference2;
+	}
+
+	// add a type and its base types, return false if the type is not in the reference model
+	public boolean addType(QualifiedName type)
+	{
+		if (type == null || missing.contains(type))
+			return false;
+		if (types.containsKey(type) || reference.typeInSubset(type))
+			return true;
+		// a derivation cycle is only possible in a broken reference model, the type is then added once
+		if (!visiting.add(type))
+			return true;
+		List<QualifiedName> baseTypes = reference.baseTypes(type);
+		if (baseTypes == null) {
+			visiting.remove(type);
+			missing.add(type);
+			return false;
+		}
+		for (QualifiedName baseType : baseTypes)
+			addType(baseType);
+		visiting.remove(type);
+		types.put(type, baseTypes);
+		return true;
+	}
+
+	// add an element, its type and the head of its substitution group if any, return false if the
+	// element or its type is not in the reference model
+	public boolean addElement(QualifiedName element, QualifiedName headElement)
+	{
+		if (headElement != null && headElement != element)
+			addElement(headElement, null);
+		if (element == null || missing.contains(element))
+			return false;
+		if (elements.containsKey(element) || reference.elementInSubset(element))
+			return true;
+		QualifiedName type = reference.elementType(element);
+		if (type == null) {
+			missing.add(element);
+			return false;
+		}
+		if (!addType(type))
+			return false;
+		elements.put(element, type);
+		return true;
+	}
+
+	// add an element in a type, the type and the element are added with addType and addElement
+	public void addElementInType(QualifiedName type, QualifiedName element, String multiplicity)
+	{
+		elementsInType.add(new ElementInType(type, element, multiplicity));
+	}
+
+	// types to create, base types first
+	public Set<QualifiedName> types()
+	{
+		return Collections.unmodifiableSet(types.keySet());
+	}
+
+	public List<QualifiedName> baseTypes(QualifiedName type)
+	{
+		return types.get(type);
+	}
+
+	// elements to create, after their types
+	public Set<QualifiedName> elements()
+	{
+		return Collections.unmodifiableSet(elements.keySet());
+	}
+
+	public QualifiedName elementType(QualifiedName element)
+	{
+		return elements.get(element);
+	}
+
+	public List<ElementInType> elementsInType()
+	{
+		return Collections.unmodifiableList(elementsInType);
+	}
+
+	public Set<QualifiedName> missing()
+	{
+		return Collections.unmodifiableSet(missing);
+	}
+
+	// number of types and elements to create
+	public int size()
+	{
+		return types.size() + elements.size();
+	}
+}
@@ -0,0 +1,66 @@
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// what NiemTools imports from a NIEM XML schema file, read once and then used by every import pass
+public class XmlSchema {
+
+	// derivation of a type from its base type
+	public static final int NO_BASE = 0;
+	public static final int SIMPLE_RESTRICTION = 1;
+	public static final int SIMPLE_CONTENT_EXTENSION = 2;
+	public static final int COMPLEX_CONTENT_EXTENSION = 3;
+
+	// top level xs:complexType or xs:simpleType
+	public static class TypeDef {
+		public String name = null;
+		public boolean simple = false;
+		public String description = "";
+		public String base = null;
+		public int derivation = NO_BASE;
+		// values of xs:restriction/xs:enumeration for simple types
+		public List<String> enumerations = new ArrayList<String>();
+		// xs:sequence/xs:element[@ref] of complex content extensions
+		public List<ElementRef> elementRefs = new ArrayList<ElementRef>();
+	}
+
+	// top level xs:element
+	public static class ElementDef {
+		public String name = null;
+		public String type = "";
+		public String description = "";
+	}
+
+	// element reference in a type
+	public static class ElementRef {
+		public String ref = null;
+		public String minOccurs = "1";
+		public String maxOccurs = "1";
+	}
+
+	public String filename = null;
+	public String filepath = null;
+	// SHA-1 of the content of the file
+	public String hash = null;
+	public String targetNamespace = "";
+	public String description = "";
+	// namespaces declared by xs:schema in document order, the default namespace has the prefix ""
+	public Map<String, String> namespaces = new LinkedHashMap<String, String>();
+	public List<TypeDef> types = new ArrayList<TypeDef>();
+	public List<ElementDef> elements = new ArrayList<ElementDef>();
+
+	public XmlSchema(String filename2, String filepath2)
+	{
+		filename = filename2;
+		filepath = filepath2;
+	}
+
+	// return the namespace URI declared for a prefix, null if not declared
+	public String lookupNamespaceURI(String prefix)
+	{
+		if (prefix == null || prefix.equals(""))
+			return null;
+		return namespaces.get(prefix);
+	}
+}
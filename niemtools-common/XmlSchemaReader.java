@@ -0,0 +1,266 @@
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+// reads an XmlSchema in a single forward pass with StAX, only the top level types and elements are looked at
+// and nothing of the document is kept, giving the same result as NiemTools.parseSchemaDom
+public class XmlSchemaReader {
+
+	// the factories are not thread safe
+	private static ThreadLocal<XMLInputFactory> factories = new ThreadLocal<XMLInputFactory>() {
+		@Override
+		protected XMLInputFactory initialValue() {
+			return XMLInputFactory.newInstance();
+		}
+	};
+
+	private XMLStreamReader reader;
+
+	private XmlSchemaReader(XMLStreamReader reader2)
+	{
+		reader = reader2;
+	}
+
+	// read a schema, the file name is only used in the error messages
+	public static XmlSchema read(InputStream in, String filename, String filepath) throws Exception
+	{
+		XMLStreamReader reader = factories.get().createXMLStreamReader(filename, in);
+		try {
+			XmlSchema schema = new XmlSchema(filename, filepath);
+			new XmlSchemaReader(reader).readSchema(schema);
+			return schema;
+		} finally {
+			reader.close();
+		}
+	}
+
+	// read the root element
+	private void readSchema(XmlSchema schema) throws XMLStreamException
+	{
+		nextTag();
+
+		// namespaces ordered by attribute name like the attributes of a DOM element
+		Map<String, String[]> declarations = new TreeMap<String, String[]>();
+		for (int i = 0; i < reader.getNamespaceCount(); i++) {
+			String prefix = reader.getNamespacePrefix(i);
+			if (prefix == null)
+				prefix = "";
+			String aname = (prefix.equals("")) ? "xmlns" : "xmlns:" + prefix;
+			declarations.put(aname, new String[] { prefix, reader.getNamespaceURI(i) });
+		}
+		for (String[] declaration : declarations.values())
+			schema.namespaces.put(declaration[0], declaration[1]);
+
+		boolean isSchema = isXs("schema");
+		if (isSchema)
+			schema.targetNamespace = attribute("targetNamespace", "");
+
+		boolean annotation = false;
+		while (nextTag() == XMLStreamConstants.START_ELEMENT) {
+			if (isXs("annotation") && isSchema && !annotation) {
+				annotation = true;
+				schema.description = readAnnotation();
+			} else if (isXs("complexType"))
+				schema.types.add(readType(false));
+			else if (isXs("simpleType") && attribute("name", null) != null)
+				schema.types.add(readType(true));
+			else if (isXs("element") && attribute("name", null) != null) {
+				XmlSchema.ElementDef e = new XmlSchema.ElementDef();
+				e.name = attribute("name", "");
+				e.type = attribute("type", "");
+				e.description = readDescription();
+				schema.elements.add(e);
+			} else
+				skip();
+		}
+	}
+
+	// read an xs:complexType or xs:simpleType
+	private XmlSchema.TypeDef readType(boolean simple) throws XMLStreamException
+	{
+		XmlSchema.TypeDef t = new XmlSchema.TypeDef();
+		boolean named = attribute("name", null) != null;
+		t.name = attribute("name", "");
+		// as NiemTools.parseSchemaDom, the prefix is part of the test
+		t.simple = simple && "xs".equals(reader.getPrefix());
+
+		boolean annotation = false, restriction = false, simpleContent = false, complexContent = false;
+		String simpleBase = null, complexBase = null;
+		List<XmlSchema.ElementRef> refs = null;
+		while (nextTag() == XMLStreamConstants.START_ELEMENT) {
+			if (isXs("annotation") && !annotation) {
+				annotation = true;
+				t.description = readAnnotation();
+			} else if (isXs("restriction") && simple && !restriction) {
+				restriction = true;
+				simpleBase = attribute("base", null);
+				while (nextTag() == XMLStreamConstants.START_ELEMENT) {
+					if (isXs("enumeration") && t.simple)
+						t.enumerations.add(attribute("value", ""));
+					skip();
+				}
+			} else if (isXs("simpleContent") && !simple && !simpleContent) {
+				simpleContent = true;
+				boolean extension = false;
+				while (nextTag() == XMLStreamConstants.START_ELEMENT) {
+					if (isXs("extension") && !extension) {
+						extension = true;
+						simpleBase = attribute("base", null);
+					}
+					skip();
+				}
+			} else if (isXs("complexContent") && !simple && !complexContent) {
+				complexContent = true;
+				boolean extension = false;
+				while (nextTag() == XMLStreamConstants.START_ELEMENT) {
+					if (isXs("extension") && !extension) {
+						extension = true;
+						complexBase = attribute("base", null);
+						refs = readExtension();
+					} else
+						skip();
+				}
+			} else
+				skip();
+		}
+
+		if (!named)
+			return t;
+		if (simpleBase != null) {
+			t.base = simpleBase;
+			t.derivation = (simple) ? XmlSchema.SIMPLE_RESTRICTION : XmlSchema.SIMPLE_CONTENT_EXTENSION;
+		} else if (complexBase != null) {
+			t.base = complexBase;
+			t.derivation = XmlSchema.COMPLEX_CONTENT_EXTENSION;
+			t.elementRefs = refs;
+		}
+		return t;
+	}
+
+	// read the element references of the first xs:sequence of an xs:extension
+	private List<XmlSchema.ElementRef> readExtension() throws XMLStreamException
+	{
+		List<XmlSchema.ElementRef> refs = new ArrayList<XmlSchema.ElementRef>();
+		boolean sequence = false;
+		while (nextTag() == XMLStreamConstants.START_ELEMENT) {
+			if (isXs("sequence") && !sequence) {
+				sequence = true;
+				while (nextTag() == XMLStreamConstants.START_ELEMENT) {
+					String ref = attribute("ref", null);
+					if (isXs("element") && ref != null) {
+						XmlSchema.ElementRef r = new XmlSchema.ElementRef();
+						r.ref = ref;
+						String minOccurs = attribute("minOccurs", "");
+						if (!minOccurs.equals(""))
+							r.minOccurs = minOccurs;
+						String maxOccurs = attribute("maxOccurs", "");
+						if (!maxOccurs.equals(""))
+							r.maxOccurs = maxOccurs;
+						refs.add(r);
+					}
+					skip();
+				}
+			} else
+				skip();
+		}
+		return refs;
+	}
+
+	// read the description of a top level element, the text of its first xs:annotation/xs:documentation
+	private String readDescription() throws XMLStreamException
+	{
+		String description = "";
+		boolean annotation = false;
+		while (nextTag() == XMLStreamConstants.START_ELEMENT) {
+			if (isXs("annotation") && !annotation) {
+				annotation = true;
+				description = readAnnotation();
+			} else
+				skip();
+		}
+		return description;
+	}
+
+	// read an xs:annotation, returning the text of its first xs:documentation
+	private String readAnnotation() throws XMLStreamException
+	{
+		String documentation = null;
+		while (nextTag() == XMLStreamConstants.START_ELEMENT) {
+			if (isXs("documentation") && documentation == null)
+				documentation = text();
+			else
+				skip();
+		}
+		return (documentation == null) ? "" : documentation;
+	}
+
+	// return the text of the current element and its descendants, ending on its end tag
+	private String text() throws XMLStreamException
+	{
+		StringBuilder text = new StringBuilder();
+		int depth = 1;
+		while (depth != 0) {
+			switch (reader.next()) {
+			case XMLStreamConstants.START_ELEMENT:
+				depth++;
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				depth--;
+				break;
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.CDATA:
+			case XMLStreamConstants.SPACE:
+				text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+				break;
+			}
+		}
+		return text.toString();
+	}
+
+	// go to the next start or end tag, ignoring the text, comments and processing instructions
+	private int nextTag() throws XMLStreamException
+	{
+		for (;;) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT || event == XMLStreamConstants.END_ELEMENT
+					|| event == XMLStreamConstants.END_DOCUMENT)
+				return event;
+		}
+	}
+
+	// skip the current element, ending on its end tag
+	private void skip() throws XMLStreamException
+	{
+		int depth = 1;
+		while (depth != 0) {
+			switch (reader.next()) {
+			case XMLStreamConstants.START_ELEMENT:
+				depth++;
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				depth--;
+				break;
+			}
+		}
+	}
+
+	private boolean isXs(String localName)
+	{
+		return localName.equals(reader.getLocalName())
+				&& XMLConstants.W3C_XML_SCHEMA_NS_URI.equals(reader.getNamespaceURI());
+	}
+
+	private String attribute(String localName, String defaultValue)
+	{
+		String value = reader.getAttributeValue(null, localName);
+		return (value == null) ? defaultValue : value;
+	}
+}